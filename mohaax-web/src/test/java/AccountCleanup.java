@@ -0,0 +1,202 @@
+import io.github.cdimascio.dotenv.Dotenv;
+import org.openqa.selenium.json.Json;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Limpieza de las cuentas creadas por las pruebas de registro (UI y Bruno).
+ * Con {@code -Dcleanup=true}, al terminar la suite se eliminan por la API las cuentas anotadas en
+ * {@link CreatedAccountJournal}. Con {@code -Dcleanup.sweep=true} también se eliminan las que coinciden con los
+ * patrones de nombre que generan las pruebas, para recoger restos de ejecuciones interrumpidas.
+ * Solo salen del journal las cuentas que se eliminaron; las demás se conservan para el siguiente intento.
+ * Las eliminaciones se envían en lotes ({@code -Dcleanup.batchSize}), con un máximo de peticiones simultáneas
+ * ({@code -Dcleanup.concurrency}) y de peticiones por segundo ({@code -Dcleanup.ratePerSecond}).
+ */
+public class AccountCleanup implements ISuiteListener {
+
+    /**
+     * Patrones de los nombres de usuario que generan las pruebas:
+     * SignUpTest ({@code usuarioExito<epoch>_<uuid8>} y {@code <epoch>_<uuid8>short|userN}) y
+     * register-success.bru ({@code usuario<Date.now()>_<random base36>}).
+     */
+    private static final String DEFAULT_PATTERNS =
+            "^usuarioExito\\d{10}_[0-9a-f]{8}$,^\\d{10}_[0-9a-f]{8}(short|user\\d+)$,^usuario\\d{13}_[a-z0-9]+$";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Json json = new Json();
+
+    /**
+     * Ejecuta la limpieza solo al terminar la suite de nivel superior; las suites hijas (p. ej. {@code api_suite.xml})
+     * comparten los listeners de la suite padre y no deben repetirla.
+     * @param suite La suite que termina.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (suite.getXmlSuite().getParentSuite() != null) {
+            return;
+        }
+        if (Boolean.getBoolean("cleanup") || Boolean.getBoolean("cleanup.sweep")) {
+            run();
+        }
+    }
+
+    /**
+     * Elimina las cuentas registradas en el journal y, si se pidió, las que coinciden con los patrones de barrido.
+     * Las cuentas que no se pudieron eliminar permanecen en el journal para el siguiente intento.
+     */
+    public void run() {
+        Dotenv dotenv = Dotenv.load();
+        String apiUrl = dotenv.get("API_URL", "https://mohaax.cl/api/v1");
+        List<CreatedAccountJournal.Entry> journal = CreatedAccountJournal.read();
+        List<Pattern> patterns = new ArrayList<>();
+        if (Boolean.getBoolean("cleanup.sweep")) {
+            for (String pattern : System.getProperty("cleanup.patterns", DEFAULT_PATTERNS).split(",")) {
+                patterns.add(Pattern.compile(pattern.trim()));
+            }
+        }
+        if (journal.isEmpty() && patterns.isEmpty()) {
+            return;
+        }
+
+        String cleanupEmail = dotenv.get("CLEANUP_EMAIL");
+        String cleanupPassword = dotenv.get("CLEANUP_PASSWORD");
+        if (cleanupEmail == null || cleanupEmail.isBlank() || cleanupPassword == null || cleanupPassword.isBlank()) {
+            // Sin credenciales dedicadas no se borra nada con la cuenta de pruebas habitual.
+            System.err.println("Account cleanup skipped: set CLEANUP_EMAIL and CLEANUP_PASSWORD in .env; journal kept");
+            return;
+        }
+
+        try {
+            String token = login(apiUrl, cleanupEmail, cleanupPassword);
+            Set<String> journaled = journal.stream()
+                    .flatMap(entry -> Stream.of(entry.username(), entry.email()))
+                    .collect(Collectors.toSet());
+            List<Map<String, Object>> players = listPlayers(apiUrl, token);
+            if (players.isEmpty()) {
+                throw new IllegalStateException("the player list is empty or has an unexpected format");
+            }
+            Map<String, String> targets = new ConcurrentHashMap<>();
+            for (Map<String, Object> player : players) {
+                String username = String.valueOf(player.get("username"));
+                String email = String.valueOf(player.get("email"));
+                boolean matches = journaled.contains(username) || journaled.contains(email)
+                        || patterns.stream().anyMatch(pattern -> pattern.matcher(username).matches());
+                if (matches && player.get("id") != null) {
+                    targets.put(String.valueOf(player.get("id")), username);
+                }
+            }
+
+            Set<String> deleted = deleteInBatches(apiUrl, token, targets);
+            Set<String> deletedUsernames = new HashSet<>();
+            targets.forEach((id, username) -> {
+                if (deleted.contains(id)) {
+                    deletedUsernames.add(username);
+                }
+            });
+            // Solo se quitan del journal las cuentas eliminadas. Las que no aparecen en la lista se conservan: la
+            // respuesta puede venir paginada o truncada, y no prueba que la cuenta no exista en el servidor.
+            CreatedAccountJournal.rewrite(journal.stream()
+                    .filter(entry -> !deletedUsernames.contains(entry.username()))
+                    .collect(Collectors.toList()));
+            System.out.println("Account cleanup: deleted " + deleted.size() + " of " + targets.size() + " test account(s)");
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Account cleanup failed, journal kept for the next run: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String login(String apiUrl, String email, String password) throws IOException, InterruptedException {
+        String body = json.toJson(Map.of("email", email, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Map<String, Object> payload = json.toType(response.body(), Json.MAP_TYPE);
+        Object token = payload.get("token");
+        if (response.statusCode() != 200 || token == null) {
+            throw new IllegalStateException("login returned status " + response.statusCode());
+        }
+        return token.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> listPlayers(String apiUrl, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + "/players"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Object payload = json.toType(response.body(), Json.OBJECT_TYPE);
+        // La lista puede venir en la raíz o dentro de una propiedad del objeto de respuesta (p. ej. "data").
+        if (payload instanceof Map<?, ?> map) {
+            payload = ((Map<String, Object>) map).values().stream()
+                    .filter(List.class::isInstance)
+                    .findFirst()
+                    .orElse(List.of());
+        }
+        List<Map<String, Object>> players = new ArrayList<>();
+        for (Object item : (List<Object>) payload) {
+            if (item instanceof Map<?, ?>) {
+                players.add((Map<String, Object>) item);
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Elimina los jugadores indicados en lotes, limitando la concurrencia y la tasa de peticiones.
+     * @return Los ids eliminados correctamente.
+     */
+    private Set<String> deleteInBatches(String apiUrl, String token, Map<String, String> targets) throws InterruptedException {
+        int batchSize = Integer.getInteger("cleanup.batchSize", 20);
+        Semaphore inFlight = new Semaphore(Integer.getInteger("cleanup.concurrency", 4));
+        long intervalMillis = 1000L / Math.max(1, Integer.getInteger("cleanup.ratePerSecond", 5));
+        Set<String> deleted = ConcurrentHashMap.newKeySet();
+
+        List<String> ids = new ArrayList<>(targets.keySet());
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<CompletableFuture<Void>> batch = new ArrayList<>();
+            for (String id : ids.subList(start, Math.min(start + batchSize, ids.size()))) {
+                inFlight.acquire();
+                HttpRequest request = HttpRequest.newBuilder(URI.create(apiUrl + "/players/" + id))
+                        .header("Authorization", "Bearer " + token)
+                        .DELETE()
+                        .build();
+                batch.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .handle((response, error) -> {
+                            inFlight.release();
+                            if (error == null && response.statusCode() / 100 == 2) {
+                                deleted.add(id);
+                            } else {
+                                System.err.println("Could not delete player " + targets.get(id) + ": "
+                                        + (error != null ? error.getMessage() : "status " + response.statusCode()));
+                            }
+                            return null;
+                        }));
+                Thread.sleep(intervalMillis);
+            }
+            CompletableFuture.allOf(batch.toArray(new CompletableFuture<?>[0])).join();
+        }
+        return deleted;
+    }
+}
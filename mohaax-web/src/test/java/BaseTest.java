@@ -2,17 +2,29 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariDriverService;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Optional;
+import org.testng.annotations.Parameters;
 
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.time.Duration;
 
 /**
  * Clase base para todas las pruebas de Selenium.
- * Se encarga de la configuración inicial del WebDriver (ChromeDriver) y la gestión de variables de entorno (dotenv) para asegurar un entorno de prueba consistente.
+ * Se encarga de la configuración inicial del WebDriver (Chrome, Firefox, Edge o Safari) y la gestión de variables de entorno (dotenv) para asegurar un entorno de prueba consistente.
  **/
 public class BaseTest {
 
@@ -20,51 +32,165 @@ public class BaseTest {
     protected WebDriver driver;
     /** Objeto para cargar y acceder a las variables de entorno del archivo .env. */
     protected Dotenv dotenv;
+    /** Indica si la prueba actual reutiliza la página cargada por la fila anterior del mismo data provider. */
+    protected boolean sessionReused;
+    /** Clave del lote al que pertenece la sesión abierta (ver {@link ScenarioBatch}), o {@code null} si no se comparte. */
+    private String batchKey;
+    /** Navegador de la sesión abierta, usado para liberar su cupo en {@link BrowserMatrix}. */
+    private String sessionBrowser;
+    /** Árbol de procesos de la sesión abierta, vigilado por {@link ProcessWatchdog}. */
+    private ProcessWatchdog.Session watchdogSession;
+    /** Perfil de navegador clonado del perfil precalentado (ver {@link ProfileSnapshotManager}), o {@code null}. */
+    private Path profileClone;
 
     /**
      * Configura el entorno de prueba antes de cada método de prueba.
      * 1. Carga las variables de entorno.
-     * 2. Configura y crea una instancia de ChromeDriver.
+     * 2. Configura y crea una instancia del WebDriver del navegador indicado.
      * 3. Maximiza la ventana del navegador.
      * 4. Establece una espera implícita global de 10 segundos.
+     * En modo batching, si la fila anterior del mismo data provider dejó una sesión abierta, se reutiliza.
+     * Si el navegador no está instalado en la máquina (ver {@link BrowserMatrix}), la prueba se omite sin intentar crear el driver.
+     * @param browser El navegador definido en el bloque {@code <test>} de la suite, o {@code null} si no se definió.
+     * @param method El método de prueba que se va a ejecutar.
      */
     @BeforeMethod
-    public void setup() {
-        // Lee la propiedad 'browser' del sistema (Maven/Terminal) o usa 'chrome' por defecto
-        String browser = System.getProperty("browser", "chrome").toLowerCase();
+    @Parameters("browser")
+    public void setup(@Optional String browser, Method method) {
+        String key = ScenarioBatch.keyFor(method);
+        if (key != null && driver != null && key.equals(batchKey)) {
+            sessionReused = true;
+            watchdogSession.beginTest(testLabel(method));
+            return;
+        }
+        quitDriver();
+        sessionReused = false;
+
+        String browserName = resolveBrowser(browser);
+        BrowserMatrix.Availability availability = BrowserMatrix.probe(browserName);
+        if (!availability.available()) {
+            throw new SkipException("Browser '" + browserName + "' is not available: " + availability.detail());
+        }
         dotenv = Dotenv.load();
+        if (browserName.equals("chrome") && ProfileSnapshotManager.isEnabled()) {
+            profileClone = ProfileSnapshotManager.newSessionProfile(dotenv.get("BASE_URL"));
+        }
 
+        BrowserMatrix.acquireSession(browserName);
+        try {
+            watchdogSession = startSession(browserName);
+            driver = watchdogSession.driver();
+        } finally {
+            if (driver == null) {
+                BrowserMatrix.releaseSession(browserName);
+                ProfileSnapshotManager.discard(profileClone);
+                profileClone = null;
+            }
+        }
+        sessionBrowser = browserName;
+        batchKey = key;
+        PageLoadMetrics.registerSession(driver, browserName, profileClone != null);
+        watchdogSession.beginTest(testLabel(method));
+
+        driver.manage().window().maximize();
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Determina el navegador a usar: primero el parámetro de la suite, luego la propiedad 'browser'
+     * del sistema (Maven/Terminal) y, por defecto, 'chrome'.
+     * @param suiteBrowser El parámetro 'browser' de la suite, o {@code null}.
+     * @return El nombre normalizado del navegador.
+     */
+    private String resolveBrowser(String suiteBrowser) {
+        String browser = suiteBrowser != null ? suiteBrowser : System.getProperty("browser", "chrome");
+        browser = browser.toLowerCase();
+        return switch (browser) {
+            case "firefox", "edge", "safari" -> browser;
+            default -> "chrome";
+        };
+    }
+
+    /**
+     * Construye el nombre con el que se publica el consumo de recursos de la prueba.
+     * @param method El método de prueba.
+     * @return El nombre de la clase, el método y el navegador.
+     */
+    private String testLabel(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + " [" + sessionBrowser + "]";
+    }
+
+    /**
+     * Crea la sesión de WebDriver correspondiente al navegador, registrada en {@link ProcessWatchdog}.
+     * El servicio del driver se construye aquí para que el watchdog solo serialice su arranque y no el del navegador.
+     * @param browser El nombre normalizado del navegador.
+     * @return La sesión vigilada.
+     */
+    private ProcessWatchdog.Session startSession(String browser) {
         switch (browser) {
             case "firefox":
                 WebDriverManager.firefoxdriver().setup();
-                driver = new FirefoxDriver();
-                break;
+                return ProcessWatchdog.track(GeckoDriverService.createDefaultService(), FirefoxDriver::new);
             case "edge":
                 WebDriverManager.edgedriver().setup();
-                driver = new EdgeDriver();
-                break;
+                return ProcessWatchdog.track(EdgeDriverService.createDefaultService(), EdgeDriver::new);
             case "safari":
-                driver = new SafariDriver();
-                break;
+                return ProcessWatchdog.track(SafariDriverService.createDefaultService(), SafariDriver::new);
             case "chrome":
             default:
                 WebDriverManager.chromedriver().setup();
-                driver = new ChromeDriver();
-                break;
+                ChromeOptions options = new ChromeOptions();
+                if (profileClone != null) {
+                    options.addArguments("--user-data-dir=" + profileClone.toAbsolutePath());
+                }
+                return ProcessWatchdog.track(ChromeDriverService.createDefaultService(),
+                        service -> new ChromeDriver(service, options));
         }
-
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
     }
 
     /**
      * Cierra el navegador y finaliza la sesión de WebDriver después de cada método de prueba.
      * Esto libera recursos y asegura que el navegador se cierre correctamente.
+     * En modo batching la sesión se conserva para la siguiente fila solo si la fila actual pasó.
+     * @param result El resultado de la prueba que acaba de ejecutarse.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        if (watchdogSession != null) {
+            watchdogSession.endTest(result);
+        }
+        if (batchKey != null && result.isSuccess()) {
+            return;
+        }
+        quitDriver();
+    }
+
+    /**
+     * Cierra la sesión que haya quedado abierta por el último lote de la clase.
+     */
+    @AfterClass(alwaysRun = true)
+    public void closeBatchSession() {
+        quitDriver();
+    }
+
+    /**
+     * Finaliza la sesión de WebDriver si existe y limpia el estado del lote.
      */
-    @AfterMethod
-    public void tearDown() {
+    private void quitDriver() {
+        batchKey = null;
         if (driver != null) {
-            driver.quit();
+            try {
+                driver.quit();
+            } finally {
+                PageLoadMetrics.forgetSession(driver);
+                driver = null;
+                // Mata los procesos del driver y del navegador que quit() no haya cerrado.
+                watchdogSession.close();
+                watchdogSession = null;
+                ProfileSnapshotManager.discard(profileClone);
+                profileClone = null;
+                BrowserMatrix.releaseSession(sessionBrowser);
+            }
         }
     }
 }
\ No newline at end of file
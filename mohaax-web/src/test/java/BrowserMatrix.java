@@ -0,0 +1,115 @@
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Planificador de la matriz de navegadores.
+ * Al iniciar la suite comprueba una sola vez qué navegadores están instalados en la máquina,
+ * de modo que los bloques {@code <test>} de navegadores ausentes se omiten de inmediato en lugar de
+ * fallar al configurar el driver en cada {@code @BeforeMethod}.
+ * Además permite reducir cuántas sesiones simultáneas abre cada navegador ({@code -Dmatrix.cap.<navegador>}).
+ * El límite solo puede bajar la concurrencia: cada bloque {@code <test>} ya ejecuta como máximo tantas sesiones como
+ * su {@code thread-count} (una por clase, porque cada instancia de {@link BaseTest} tiene su propio driver).
+ */
+public class BrowserMatrix implements ISuiteListener {
+
+    /** Resultado cacheado de la comprobación de cada navegador. */
+    private static final Map<String, Availability> availability = new ConcurrentHashMap<>();
+    /** Semáforo por navegador que limita las sesiones concurrentes. */
+    private static final Map<String, Semaphore> sessionCaps = new ConcurrentHashMap<>();
+
+    /**
+     * Disponibilidad de un navegador en la máquina actual.
+     * @param available {@code true} si el navegador se puede lanzar.
+     * @param detail Ruta detectada o motivo por el que no está disponible.
+     */
+    public record Availability(boolean available, String detail) {
+    }
+
+    /**
+     * Comprueba al inicio de la suite todos los navegadores declarados en los bloques {@code <test>}.
+     * @param suite La suite que comienza.
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        for (XmlTest test : suite.getXmlSuite().getTests()) {
+            String browser = test.getParameter("browser");
+            if (browser != null) {
+                Availability result = probe(browser);
+                System.out.println("Browser matrix: " + browser + " -> "
+                        + (result.available() ? "available (" : "unavailable (") + result.detail() + ")");
+            }
+        }
+    }
+
+    /**
+     * Devuelve la disponibilidad del navegador, comprobándolo solo la primera vez.
+     * @param browser El nombre del navegador (chrome, firefox, edge o safari).
+     * @return La disponibilidad cacheada del navegador.
+     */
+    public static Availability probe(String browser) {
+        return availability.computeIfAbsent(browser.toLowerCase(), BrowserMatrix::detect);
+    }
+
+    /**
+     * Reserva un cupo de sesión para el navegador, bloqueando hasta que haya uno libre.
+     * @param browser El nombre del navegador.
+     */
+    public static void acquireSession(String browser) {
+        capFor(browser).acquireUninterruptibly();
+    }
+
+    /**
+     * Libera el cupo de sesión reservado con {@link #acquireSession(String)}.
+     * @param browser El nombre del navegador.
+     */
+    public static void releaseSession(String browser) {
+        capFor(browser).release();
+    }
+
+    private static Semaphore capFor(String browser) {
+        String name = browser.toLowerCase();
+        // Safari solo admite una sesión de safaridriver a la vez.
+        int defaultCap = name.equals("safari") ? 1 : 2;
+        return sessionCaps.computeIfAbsent(name,
+                key -> new Semaphore(Math.max(1, Integer.getInteger("matrix.cap." + key, defaultCap))));
+    }
+
+    private static Availability detect(String browser) {
+        try {
+            switch (browser) {
+                case "safari": {
+                    Path safariDriver = Path.of("/usr/bin/safaridriver");
+                    boolean mac = System.getProperty("os.name").toLowerCase().contains("mac");
+                    return mac && Files.isExecutable(safariDriver)
+                            ? new Availability(true, safariDriver.toString())
+                            : new Availability(false, "safaridriver is only available on macOS");
+                }
+                case "firefox":
+                    return fromBrowserPath(WebDriverManager.firefoxdriver());
+                case "edge":
+                    return fromBrowserPath(WebDriverManager.edgedriver());
+                case "chrome":
+                    return fromBrowserPath(WebDriverManager.chromedriver());
+                default:
+                    return new Availability(false, "unknown browser '" + browser + "'");
+            }
+        } catch (RuntimeException e) {
+            return new Availability(false, "probe failed: " + e.getMessage());
+        }
+    }
+
+    private static Availability fromBrowserPath(WebDriverManager manager) {
+        return manager.getBrowserPath()
+                .filter(Files::exists)
+                .map(path -> new Availability(true, path.toString()))
+                .orElseGet(() -> new Availability(false, "browser binary not found"));
+    }
+}
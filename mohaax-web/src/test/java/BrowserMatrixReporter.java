@@ -0,0 +1,109 @@
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Reporte consolidado de la matriz de navegadores.
+ * Agrupa los resultados de todos los bloques {@code <test>} por navegador y por método de prueba
+ * en una sola tabla, que se imprime en consola y se guarda en {@code browser-matrix.txt}.
+ */
+public class BrowserMatrixReporter implements IReporter {
+
+    /** Nombre de columna usado para los bloques sin parámetro 'browser' (p. ej. las pruebas de API). */
+    private static final String NO_BROWSER = "api";
+
+    /**
+     * Contadores de resultados de un método en un navegador.
+     */
+    private static final class Counts {
+        int passed;
+        int failed;
+        int skipped;
+
+        @Override
+        public String toString() {
+            return passed + "/" + failed + "/" + skipped;
+        }
+    }
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        Map<String, Map<String, Counts>> matrix = new TreeMap<>();
+        Map<String, Long> durations = new TreeMap<>();
+        Set<String> browsers = new TreeSet<>();
+
+        for (ISuite suite : suites) {
+            for (ISuiteResult suiteResult : suite.getResults().values()) {
+                ITestContext context = suiteResult.getTestContext();
+                String browser = context.getCurrentXmlTest().getParameter("browser");
+                browser = browser == null ? NO_BROWSER : browser.toLowerCase();
+                browsers.add(browser);
+                durations.merge(browser, context.getEndDate().getTime() - context.getStartDate().getTime(), Long::sum);
+
+                for (ITestResult result : context.getPassedTests().getAllResults()) {
+                    counts(matrix, result, browser).passed++;
+                }
+                for (ITestResult result : context.getFailedTests().getAllResults()) {
+                    counts(matrix, result, browser).failed++;
+                }
+                for (ITestResult result : context.getSkippedTests().getAllResults()) {
+                    counts(matrix, result, browser).skipped++;
+                }
+            }
+        }
+
+        String report = render(matrix, durations, browsers);
+        System.out.println(report);
+        try {
+            Path output = Path.of(outputDirectory, "browser-matrix.txt");
+            Files.createDirectories(output.getParent());
+            Files.writeString(output, report);
+        } catch (IOException e) {
+            System.err.println("Could not write browser matrix report: " + e.getMessage());
+        }
+    }
+
+    private static Counts counts(Map<String, Map<String, Counts>> matrix, ITestResult result, String browser) {
+        String testName = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        return matrix.computeIfAbsent(testName, key -> new TreeMap<>()).computeIfAbsent(browser, key -> new Counts());
+    }
+
+    private static String render(Map<String, Map<String, Counts>> matrix, Map<String, Long> durations, Set<String> browsers) {
+        int nameWidth = matrix.keySet().stream().mapToInt(String::length).max().orElse(10);
+        StringBuilder report = new StringBuilder();
+        report.append("Browser matrix (passed/failed/skipped)\n");
+        report.append(String.format("%-" + nameWidth + "s", "test"));
+        for (String browser : browsers) {
+            report.append(String.format(" | %-10s", browser));
+        }
+        report.append('\n');
+
+        for (Map.Entry<String, Map<String, Counts>> row : matrix.entrySet()) {
+            report.append(String.format("%-" + nameWidth + "s", row.getKey()));
+            for (String browser : browsers) {
+                Counts counts = row.getValue().get(browser);
+                report.append(String.format(" | %-10s", counts == null ? "-" : counts));
+            }
+            report.append('\n');
+        }
+
+        report.append(String.format("%-" + nameWidth + "s", "duration (s)"));
+        for (String browser : browsers) {
+            report.append(String.format(" | %-10.1f", durations.get(browser) / 1000.0));
+        }
+        report.append('\n');
+        return report.toString();
+    }
+}
@@ -1,21 +1,51 @@
+import org.openqa.selenium.json.Json;
 import org.testng.annotations.Test;
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
 
 public class BrunoApiTest {
 
     /**
      * Test que ejecuta los tests de Bruno CLI para la colección "mohaax".
-     * Este método detecta el sistema operativo (Windows o macOS/Linux),
-     * arma el comando correspondiente y ejecuta Bruno desde Java.
      *
      * @throws Exception si falla la ejecución del proceso Bruno CLI.
      */
     @Test
     public void runBrunoApiTests() throws Exception {
         System.out.println("Executing Bruno API tests for 'mohaax' collection...");
+        runBruno(". -r", null, "bruno-results.json");
+    }
 
+    /**
+     * Test que ejecuta la petición {@code Register/register-matrix.bru} una vez por cada fila de
+     * {@link RegistrationMatrix}, usando las mismas clases de equivalencia que los data providers de {@link SignUpTest}.
+     *
+     * @throws Exception si falla la ejecución del proceso Bruno CLI.
+     */
+    @Test
+    public void runRegistrationMatrix() throws Exception {
+        System.out.println("Executing Bruno registration matrix...");
+        File data = new File("target/register-matrix.json").getAbsoluteFile();
+        RegistrationMatrix.fromEnv().writeBrunoData(data.toPath());
+        runBruno("Register/register-matrix.bru", data, "bruno-matrix-results.json");
+    }
+
+    /**
+     * Ejecuta Bruno CLI sobre la colección.
+     * Este método detecta el sistema operativo (Windows o macOS/Linux),
+     * arma el comando correspondiente y ejecuta Bruno desde Java.
+     *
+     * @param target Lo que se ejecuta dentro de la colección (carpeta o archivo .bru) y sus opciones.
+     * @param iterationData Archivo JSON con los datos de iteración ({@code --json-file-path}), o {@code null}.
+     * @param resultsFileName Nombre del archivo JSON de resultados dentro de {@code target/}.
+     * @throws Exception si falla la ejecución del proceso Bruno CLI.
+     */
+    private void runBruno(String target, File iterationData, String resultsFileName) throws Exception {
         // Ruta absoluta por defecto (para macOS/Linux).
         // ⚠️ Si trabajas en Linux/Mac, cámbiala a donde tengas tu colección Bruno.
         String brunoCollectionPath = "/Users/danieleduardo.rojas/Downloads/mohaax";
@@ -23,13 +53,17 @@ public class BrunoApiTest {
         // Detectar el sistema operativo actual (Windows, Linux o Mac).
         String os = System.getProperty("os.name").toLowerCase();
         String[] command;
+        // Resultados en JSON para anotar las cuentas creadas por las peticiones de registro (ver AccountCleanup).
+        String resultsPath = new File("target/" + resultsFileName).getAbsolutePath();
+        new File(resultsPath).getParentFile().mkdirs();
 
         if (os.contains("win")) {
             // --- Configuración para Windows ---
             // En Windows se usa "cmd.exe" con el modificador "/c" para ejecutar comandos.
             command = new String[]{
                     "cmd.exe", "/c",
-                    "bru run . -r --env-file environments\\mohaax.bru"
+                    "bru run " + target + " --env-file environments\\mohaax.bru --output \"" + resultsPath + "\""
+                            + (iterationData != null ? " --json-file-path \"" + iterationData + "\"" : "")
             };
 
             // Ruta absoluta a la colección Bruno en tu PC con Windows
@@ -40,7 +74,8 @@ public class BrunoApiTest {
             // En Unix se usa "/bin/bash" con el modificador "-c".
             command = new String[]{
                     "/bin/bash", "-c",
-                    "bru run . -r --env-file environments/mohaax.bru"
+                    "bru run " + target + " --env-file environments/mohaax.bru --output '" + resultsPath + "'"
+                            + (iterationData != null ? " --json-file-path '" + iterationData + "'" : "")
             };
         }
 
@@ -67,6 +102,9 @@ public class BrunoApiTest {
             // Esperar a que termine el proceso y obtener el código de salida
             int exitCode = process.waitFor();
 
+            // Anotar las cuentas creadas para poder eliminarlas al final de la suite
+            recordCreatedAccounts(new File(resultsPath));
+
             // Si Bruno devuelve un código distinto de 0, se considera fallo
             if (exitCode != 0) {
                 throw new RuntimeException("Bruno CLI execution failed with exit code: " + exitCode);
@@ -81,4 +119,40 @@ public class BrunoApiTest {
             throw e;
         }
     }
+
+    /**
+     * Anota en {@link CreatedAccountJournal} los usuarios creados por las peticiones de registro de la colección.
+     * Recorre el JSON de resultados de Bruno buscando peticiones cuyo cuerpo tenga 'username' y 'email'
+     * y cuya respuesta haya sido 201 (Created).
+     *
+     * @param results El archivo de resultados generado con {@code --output}.
+     */
+    private void recordCreatedAccounts(File results) {
+        if (!results.exists()) {
+            return;
+        }
+        try {
+            Object root = new Json().toType(Files.readString(results.toPath()), Json.OBJECT_TYPE);
+            collectCreatedAccounts(root);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not read Bruno results to record created accounts: " + e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectCreatedAccounts(Object node) {
+        if (node instanceof List<?> list) {
+            list.forEach(this::collectCreatedAccounts);
+        } else if (node instanceof Map<?, ?> map) {
+            Object request = map.get("request");
+            Object response = map.get("response");
+            if (request instanceof Map<?, ?> requestMap && response instanceof Map<?, ?> responseMap
+                    && requestMap.get("data") instanceof Map<?, ?> data
+                    && data.get("username") != null && data.get("email") != null
+                    && "201".equals(String.valueOf(responseMap.get("status")))) {
+                CreatedAccountJournal.record("api", String.valueOf(data.get("username")), String.valueOf(data.get("email")));
+            }
+            ((Map<String, Object>) map).values().forEach(this::collectCreatedAccounts);
+        }
+    }
 }
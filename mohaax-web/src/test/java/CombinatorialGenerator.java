@@ -0,0 +1,142 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generador de combinaciones t-wise (pairwise cuando {@code strength = 2}).
+ * Dadas las cantidades de valores de cada dimensión, devuelve un conjunto de filas en el que toda combinación de
+ * valores de cualquier grupo de {@code strength} dimensiones aparece al menos una vez.
+ * Usa una estrategia voraz determinista (estilo AETG): cada fila parte de una tupla aún no cubierta y completa
+ * las demás dimensiones con el valor que cubre más tuplas pendientes.
+ */
+public final class CombinatorialGenerator {
+
+    private CombinatorialGenerator() {
+    }
+
+    /**
+     * Genera las filas que cubren todas las tuplas de la fuerza indicada.
+     * @param sizes Cantidad de valores de cada dimensión.
+     * @param strength Fuerza de la cobertura (1 = cada valor, 2 = pairwise, ...). Se limita al número de dimensiones.
+     * @return Las filas, cada una con el índice del valor elegido por dimensión.
+     */
+    public static List<int[]> cover(int[] sizes, int strength) {
+        int dimensions = sizes.length;
+        int t = Math.max(1, Math.min(strength, dimensions));
+        List<int[]> groups = combinations(dimensions, t);
+
+        Set<String> uncovered = new LinkedHashSet<>();
+        for (int[] group : groups) {
+            int[] values = new int[t];
+            do {
+                uncovered.add(key(group, values));
+            } while (next(values, group, sizes));
+        }
+
+        List<int[]> rows = new ArrayList<>();
+        while (!uncovered.isEmpty()) {
+            int[] row = new int[dimensions];
+            Arrays.fill(row, -1);
+            seed(row, uncovered.iterator().next());
+
+            for (int dimension = 0; dimension < dimensions; dimension++) {
+                if (row[dimension] >= 0) {
+                    continue;
+                }
+                int bestValue = 0;
+                int bestGain = -1;
+                for (int value = 0; value < sizes[dimension]; value++) {
+                    row[dimension] = value;
+                    int gain = coveredBy(row, groups, uncovered);
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestValue = value;
+                    }
+                }
+                row[dimension] = bestValue;
+            }
+
+            for (int[] group : groups) {
+                uncovered.remove(key(group, project(row, group)));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /** Cuenta las tuplas pendientes que la fila (parcial) ya cubre por completo. */
+    private static int coveredBy(int[] row, List<int[]> groups, Set<String> uncovered) {
+        int count = 0;
+        for (int[] group : groups) {
+            int[] values = project(row, group);
+            if (Arrays.stream(values).allMatch(value -> value >= 0) && uncovered.contains(key(group, values))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int[] project(int[] row, int[] group) {
+        int[] values = new int[group.length];
+        for (int i = 0; i < group.length; i++) {
+            values[i] = row[group[i]];
+        }
+        return values;
+    }
+
+    /** Fija en la fila los valores de una tupla codificada como "dim:valor|dim:valor". */
+    private static void seed(int[] row, String tuple) {
+        for (String part : tuple.split("\\|")) {
+            String[] pair = part.split(":");
+            row[Integer.parseInt(pair[0])] = Integer.parseInt(pair[1]);
+        }
+    }
+
+    private static String key(int[] group, int[] values) {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < group.length; i++) {
+            if (i > 0) {
+                key.append('|');
+            }
+            key.append(group[i]).append(':').append(values[i]);
+        }
+        return key.toString();
+    }
+
+    /** Avanza los valores de un grupo como un odómetro; devuelve {@code false} al completar la vuelta. */
+    private static boolean next(int[] values, int[] group, int[] sizes) {
+        for (int i = values.length - 1; i >= 0; i--) {
+            values[i]++;
+            if (values[i] < sizes[group[i]]) {
+                return true;
+            }
+            values[i] = 0;
+        }
+        return false;
+    }
+
+    /** Todas las combinaciones de {@code k} índices entre {@code 0..n-1}, en orden lexicográfico. */
+    private static List<int[]> combinations(int n, int k) {
+        List<int[]> result = new ArrayList<>();
+        int[] combination = new int[k];
+        for (int i = 0; i < k; i++) {
+            combination[i] = i;
+        }
+        while (true) {
+            result.add(combination.clone());
+            int i = k - 1;
+            while (i >= 0 && combination[i] == n - k + i) {
+                i--;
+            }
+            if (i < 0) {
+                return result;
+            }
+            combination[i]++;
+            for (int j = i + 1; j < k; j++) {
+                combination[j] = combination[j - 1] + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registro local de las cuentas que crea la suite en el entorno de pruebas.
+ * Cada identidad se anota antes de enviar el registro, de modo que {@link AccountCleanup} pueda eliminarla
+ * al terminar la suite aunque la prueba falle o la ejecución se interrumpa.
+ * El archivo ({@code -Dcleanup.journal}, por defecto {@code created-accounts.csv}) persiste entre ejecuciones
+ * hasta que las cuentas se eliminan.
+ */
+public final class CreatedAccountJournal {
+
+    /**
+     * Una cuenta creada por la suite.
+     * @param createdAt Momento en que se envió el registro.
+     * @param source Origen de la cuenta (p. ej. "ui" o "api").
+     * @param username El nombre de usuario.
+     * @param email El correo electrónico.
+     */
+    public record Entry(Instant createdAt, String source, String username, String email) {
+    }
+
+    private CreatedAccountJournal() {
+    }
+
+    /**
+     * Ruta del archivo del registro.
+     * @return La ruta configurada con {@code -Dcleanup.journal}.
+     */
+    public static Path path() {
+        return Path.of(System.getProperty("cleanup.journal", "created-accounts.csv"));
+    }
+
+    /**
+     * Anota una cuenta creada por la suite.
+     * @param source Origen de la cuenta.
+     * @param username El nombre de usuario.
+     * @param email El correo electrónico.
+     */
+    public static synchronized void record(String source, String username, String email) {
+        String line = String.join(",", Instant.now().toString(), source, username, email) + System.lineSeparator();
+        try {
+            Files.writeString(path(), line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not record created account " + username + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee todas las cuentas pendientes de eliminar.
+     * @return Las entradas del registro, o una lista vacía si no existe.
+     */
+    public static synchronized List<Entry> read() {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(path())) {
+            return entries;
+        }
+        try {
+            for (String line : Files.readAllLines(path(), StandardCharsets.UTF_8)) {
+                String[] columns = line.split(",", -1);
+                if (columns.length == 4) {
+                    entries.add(new Entry(Instant.parse(columns[0]), columns[1], columns[2], columns[3]));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read created accounts journal: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Reemplaza el contenido del registro por las cuentas que siguen pendientes.
+     * @param remaining Las entradas que no se pudieron eliminar.
+     */
+    public static synchronized void rewrite(List<Entry> remaining) {
+        List<String> lines = new ArrayList<>();
+        for (Entry entry : remaining) {
+            lines.add(String.join(",", entry.createdAt().toString(), entry.source(), entry.username(), entry.email()));
+        }
+        try {
+            Files.write(path(), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not update created accounts journal: " + e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,14 @@
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Page Object Model (POM) para la página de inicio de sesión.
@@ -57,11 +60,82 @@ public class LoginPage {
      */
     public void navigateToLoginPage(String url) {
         driver.get(url);
+        PageLoadMetrics.record(driver);
         WebElement loginButton = wait.until(ExpectedConditions.elementToBeClickable(loginButtonMainPage));
         loginButton.click();
         wait.until(ExpectedConditions.visibilityOfElementLocated(emailInput));
     }
 
+    /**
+     * Deja el formulario de login listo para una nueva fila de datos.
+     * Si la sesión se reutiliza (modo batching) intenta reiniciar solo el formulario;
+     * si el reinicio no se puede verificar, recarga la página completa con {@link #navigateToLoginPage(String)}.
+     * @param url La URL base de la aplicación.
+     * @param reuseSession {@code true} si la página ya fue cargada por la fila anterior.
+     */
+    public void openLoginForm(String url, boolean reuseSession) {
+        if (reuseSession && resetLoginForm()) {
+            return;
+        }
+        navigateToLoginPage(url);
+    }
+
+    /**
+     * Reinicia el estado del formulario de login sin recargar la página.
+     * 1. Cierra los toasts visibles.
+     * 2. Reabre el modal de login si se cerró.
+     * 3. Limpia los campos de email y contraseña con el teclado, para que la aplicación reciba los eventos de entrada.
+     * @return {@code true} si el formulario quedó visible, vacío y sin mensajes; {@code false} en caso contrario.
+     */
+    public boolean resetLoginForm() {
+        if (!ScenarioBatch.dismissToasts(driver)) {
+            return false;
+        }
+        return ScenarioBatch.withoutImplicitWait(driver, () -> {
+            try {
+                if (driver.findElements(emailInput).isEmpty()) {
+                    List<WebElement> mainButtons = driver.findElements(loginButtonMainPage);
+                    if (mainButtons.isEmpty()) {
+                        return false;
+                    }
+                    mainButtons.get(0).click();
+                    wait.until(ExpectedConditions.visibilityOfElementLocated(emailInput));
+                }
+                return ScenarioBatch.clearWithKeyboard(driver.findElement(emailInput))
+                        && ScenarioBatch.clearWithKeyboard(driver.findElement(passwordInput))
+                        && ScenarioBatch.noneDisplayed(driver, errorMessage, successMessage, unverifiedUserMessage);
+            } catch (WebDriverException e) {
+                // Cualquier fallo durante el reinicio se resuelve con una recarga completa.
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Abre el modal de login desde el botón de la página principal, sin recargar la página.
+     * Se usa en el modo soak, donde una recarga descartaría la memoria acumulada por la aplicación.
+     */
+    public void openLoginModal() {
+        wait.until(ExpectedConditions.elementToBeClickable(loginButtonMainPage)).click();
+        wait.until(ExpectedConditions.visibilityOfElementLocated(emailInput));
+    }
+
+    /**
+     * Cierra el modal de login con la tecla Escape, después de cerrar los toasts visibles.
+     * @return {@code true} si el formulario dejó de ser visible; {@code false} en caso contrario.
+     */
+    public boolean closeLoginModal() {
+        ScenarioBatch.dismissToasts(driver);
+        return ScenarioBatch.withoutImplicitWait(driver, () -> {
+            try {
+                new Actions(driver).sendKeys(Keys.ESCAPE).perform();
+                return wait.until(ExpectedConditions.invisibilityOfElementLocated(emailInput));
+            } catch (WebDriverException e) {
+                return false;
+            }
+        });
+    }
+
     /**
      * Ingresa el nombre de usuario/email y la contraseña en los campos del formulario.
      * Los campos se limpian antes de enviar las nuevas credenciales.
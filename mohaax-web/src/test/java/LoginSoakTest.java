@@ -0,0 +1,81 @@
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.Reporter;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prueba soak del modal de login para detectar fugas de memoria o de listeners en el front-end.
+ * Carga la página una sola vez y repite N veces: abrir el modal, intentar un login fallido y cerrar el modal.
+ * Tras cada iteración toma las métricas de {@link SoakMetrics}; descartadas las iteraciones de calentamiento,
+ * falla si la pendiente del heap de JavaScript o de los nodos DOM supera el umbral configurado.
+ * Se ejecuta con {@code soak_suite.xml} y solo en navegadores Chromium. Pertenece al grupo {@code soak}, que
+ * {@code regresion_suite.xml} y el escaneo de clases de surefire excluyen, para que un {@code mvn test} normal no la incluya.
+ */
+public class LoginSoakTest extends BaseTest {
+
+    /** Correo sin cuenta en el sitio, el mismo del escenario "Login with unregistered user" de {@link LoginTest}. */
+    private static final String UNREGISTERED_EMAIL = "notregistered@gmail.com";
+
+    /**
+     * Repite el ciclo del modal de login y verifica que el heap y los nodos DOM no crezcan de forma sostenida.
+     * Propiedades: {@code -Dsoak.iterations} (por defecto 50), {@code -Dsoak.warmup} (5),
+     * {@code -Dsoak.heapSlopeBytes} (bytes por iteración, 50000) y {@code -Dsoak.nodeSlope} (nodos por iteración, 5).
+     * @param context El contexto de TestNG, usado para guardar {@code soak-metrics.csv} junto a los reportes.
+     */
+    @Test(groups = "soak")
+    public void testLoginModalSoak(ITestContext context) throws IOException {
+        if (!(driver instanceof HasCdp cdp)) {
+            throw new SkipException("Soak metrics need a Chromium browser with CDP");
+        }
+        int iterations = Integer.getInteger("soak.iterations", 50);
+        int warmup = Integer.getInteger("soak.warmup", 5);
+        double maxHeapSlope = Double.parseDouble(System.getProperty("soak.heapSlopeBytes", "50000"));
+        double maxNodeSlope = Double.parseDouble(System.getProperty("soak.nodeSlope", "5"));
+        if (iterations - warmup < 2) {
+            throw new SkipException("soak.iterations must exceed soak.warmup by at least 2");
+        }
+
+        // Una recarga liberaría la memoria de la aplicación, así que la página se carga una sola vez.
+        LoginPage loginPage = new LoginPage(driver);
+        loginPage.navigateToLoginPage(dotenv.get("BASE_URL"));
+        Assert.assertTrue(loginPage.closeLoginModal(), "The login modal did not close before the soak started.");
+        SoakMetrics.enable(cdp);
+
+        List<SoakMetrics.Sample> samples = new ArrayList<>();
+        for (int iteration = 1; iteration <= iterations; iteration++) {
+            loginPage.openLoginModal();
+            // Identidad no registrada: no se acumulan intentos fallidos sobre la cuenta que usa el resto de la suite.
+            loginPage.enterLoginCredentials(UNREGISTERED_EMAIL, "nosoyusuario");
+            loginPage.clickLoginButton();
+            Assert.assertTrue(loginPage.getErrorMessageText().contains("email o Password Incorrecto"),
+                    "Iteration " + iteration + ": the error message is not as expected.");
+            Assert.assertTrue(loginPage.closeLoginModal(), "Iteration " + iteration + ": the login modal did not close.");
+            samples.add(SoakMetrics.sample(cdp, iteration));
+        }
+        SoakMetrics.write(Path.of(context.getOutputDirectory(), "soak-metrics.csv"), samples);
+
+        List<SoakMetrics.Sample> measured = samples.subList(warmup, samples.size());
+        double heapSlope = SoakMetrics.slope(measured, SoakMetrics.Sample::jsHeapUsedSize);
+        double nodeSlope = SoakMetrics.slope(measured, SoakMetrics.Sample::nodes);
+        String summary = String.format("Login modal soak (%d iterations, %d warmup): heap %+.0f B/it, nodes %+.2f/it, "
+                        + "listeners %+.2f/it, layouts %+.2f/it, style recalcs %+.2f/it",
+                iterations, warmup, heapSlope, nodeSlope,
+                SoakMetrics.slope(measured, SoakMetrics.Sample::jsEventListeners),
+                SoakMetrics.slope(measured, SoakMetrics.Sample::layoutCount),
+                SoakMetrics.slope(measured, SoakMetrics.Sample::recalcStyleCount));
+        System.out.println(summary);
+        Reporter.log(summary);
+
+        Assert.assertTrue(heapSlope <= maxHeapSlope,
+                "JS heap keeps growing: " + Math.round(heapSlope) + " B per iteration (limit " + Math.round(maxHeapSlope) + ").");
+        Assert.assertTrue(nodeSlope <= maxNodeSlope,
+                "DOM node count keeps growing: " + String.format("%.2f", nodeSlope) + " per iteration (limit " + maxNodeSlope + ").");
+    }
+}
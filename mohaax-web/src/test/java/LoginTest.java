@@ -16,6 +16,9 @@ import java.time.Duration;
  */
 public class LoginTest extends BaseTest {
 
+    /** Bloqueo para que las pruebas de portapapeles de distintos navegadores no se pisen entre sí. */
+    private static final Object CLIPBOARD_LOCK = new Object();
+
     /**
      * Proveedor de datos para escenarios de inicio de sesión inválido.
      * Lee las credenciales y URLs de la aplicación desde el archivo .env.
@@ -46,7 +49,7 @@ public class LoginTest extends BaseTest {
     public void testInvalidLogin(String username, String password, String scenarioName) {
         String loginUrl = dotenv.get("BASE_URL");
         LoginPage loginPage = new LoginPage(driver);
-        loginPage.navigateToLoginPage(loginUrl);
+        loginPage.openLoginForm(loginUrl, sessionReused);
         loginPage.enterLoginCredentials(username, password);
         loginPage.clickLoginButton();
         Assert.assertTrue(loginPage.getErrorMessageText().contains("email o Password Incorrecto"),
@@ -130,8 +133,11 @@ public class LoginTest extends BaseTest {
         LoginPage loginPage = new LoginPage(driver);
         loginPage.navigateToLoginPage(loginUrl);
         String testPassword = dotenv.get("APP_PASSWORD");
-        copyToClipboard(testPassword); // Copia al portapapeles
-        loginPage.pastePasswordUsingShortcut(); // Pega usando atajo
+        // El portapapeles es compartido por todos los navegadores que corren en paralelo.
+        synchronized (CLIPBOARD_LOCK) {
+            copyToClipboard(testPassword); // Copia al portapapeles
+            loginPage.pastePasswordUsingShortcut(); // Pega usando atajo
+        }
         Assert.assertEquals(loginPage.getPasswordInputValue(), testPassword, "The password was not pasted correctly.");
     }
 
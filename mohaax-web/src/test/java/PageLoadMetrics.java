@@ -0,0 +1,128 @@
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Métricas de carga de página obtenidas de la Navigation Timing y Resource Timing API del navegador.
+ * Cada navegación completa registra el tiempo de carga y cuántos recursos se sirvieron desde la caché,
+ * separando por navegador y por sesión las que arrancaron con perfil precalentado ({@link ProfileSnapshotManager})
+ * de las que arrancaron con perfil vacío.
+ * Al terminar la suite se imprime el resumen y se guarda el detalle en {@code page-load.csv}.
+ */
+public class PageLoadMetrics implements ISuiteListener {
+
+    /**
+     * Script que resume la última navegación. Un recurso cuenta como acierto de caché si tiene cuerpo
+     * ({@code decodedBodySize > 0}) pero no se transfirió por red ({@code transferSize == 0}); los recursos
+     * de otros orígenes sin Timing-Allow-Origin no exponen tamaños y no se cuentan.
+     */
+    private static final String TIMING_SCRIPT =
+            "const nav = performance.getEntriesByType('navigation')[0];"
+            + "const resources = performance.getEntriesByType('resource').filter(r => r.decodedBodySize > 0);"
+            + "return {"
+            + "  loadMillis: nav ? Math.round(nav.loadEventEnd - nav.startTime) : -1,"
+            + "  resources: resources.length,"
+            + "  cacheHits: resources.filter(r => r.transferSize === 0).length"
+            + "};";
+
+    /**
+     * Una navegación medida.
+     * @param browser El navegador de la sesión.
+     * @param profile {@code warm} si la sesión arrancó con una copia del perfil precalentado, {@code cold} si no.
+     * @param loadMillis Tiempo de carga de la página.
+     * @param resources Recursos con tamaño medible.
+     * @param cacheHits Recursos servidos desde la caché.
+     */
+    private record Sample(String browser, String profile, long loadMillis, long resources, long cacheHits) {
+    }
+
+    /** Navegador y modo de perfil de cada sesión abierta, registrados por {@link BaseTest}. */
+    private static final Map<WebDriver, String[]> sessions = new ConcurrentHashMap<>();
+    /** Muestras registradas. */
+    private static final List<Sample> samples = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registra el navegador de una sesión y si arrancó con el perfil precalentado, para etiquetar sus navegaciones.
+     * @param driver La sesión de WebDriver.
+     * @param browser El nombre normalizado del navegador.
+     * @param warmProfile {@code true} si la sesión usa una copia del perfil de {@link ProfileSnapshotManager}.
+     */
+    public static void registerSession(WebDriver driver, String browser, boolean warmProfile) {
+        sessions.put(driver, new String[]{browser, warmProfile ? "warm" : "cold"});
+    }
+
+    /**
+     * Olvida una sesión que se cerró.
+     * @param driver La sesión de WebDriver.
+     */
+    public static void forgetSession(WebDriver driver) {
+        sessions.remove(driver);
+    }
+
+    /**
+     * Registra las métricas de la navegación que acaba de completarse.
+     * Los fallos al leer las métricas se ignoran para no afectar a la prueba.
+     * @param driver La instancia de WebDriver que navegó.
+     */
+    public static void record(WebDriver driver) {
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> timing = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(TIMING_SCRIPT);
+            String[] session = sessions.getOrDefault(driver, new String[]{"unknown", "cold"});
+            samples.add(new Sample(session[0], session[1],
+                    ((Number) timing.get("loadMillis")).longValue(),
+                    ((Number) timing.get("resources")).longValue(),
+                    ((Number) timing.get("cacheHits")).longValue()));
+        } catch (WebDriverException | ClassCastException | NullPointerException e) {
+            // Navegador sin Resource Timing o página sin navegación registrada.
+        }
+    }
+
+    /**
+     * Imprime el resumen por navegador y modo de perfil (solo Chrome usa el perfil precalentado, así que la
+     * comparación warm/cold se lee en sus filas) y guarda el detalle en {@code page-load.csv}.
+     * @param suite La suite que termina.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("browser,profile,loadMillis,resources,cacheHits");
+        Map<String, List<Sample>> groups = new TreeMap<>();
+        for (Sample sample : samples) {
+            lines.add(sample.browser() + "," + sample.profile() + "," + sample.loadMillis() + ","
+                    + sample.resources() + "," + sample.cacheHits());
+            groups.computeIfAbsent(sample.browser() + " (" + sample.profile() + " profile)", group -> new ArrayList<>())
+                    .add(sample);
+        }
+        groups.forEach((group, groupSamples) -> {
+            long resourceTotal = groupSamples.stream().mapToLong(Sample::resources).sum();
+            long hitTotal = groupSamples.stream().mapToLong(Sample::cacheHits).sum();
+            System.out.printf("Page load %s: %d navigations, avg load %d ms, cache hit rate %.1f%%%n",
+                    group, groupSamples.size(),
+                    groupSamples.stream().mapToLong(Sample::loadMillis).sum() / groupSamples.size(),
+                    resourceTotal == 0 ? 0.0 : 100.0 * hitTotal / resourceTotal);
+        });
+        try {
+            Path output = Path.of(suite.getOutputDirectory(), "page-load.csv");
+            Files.createDirectories(output.getParent());
+            Files.write(output, lines);
+        } catch (IOException e) {
+            System.err.println("Could not write page load report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantánea del estado visible de una página obtenida con un único {@code executeScript}.
+ * Reúne los toasts, los mensajes de validación y los valores de los campos, de modo que una prueba puede
+ * verificar el resultado completo de una acción y, si no es el esperado, informar exactamente lo que apareció
+ * en lugar de esperar el timeout de un localizador concreto.
+ */
+public final class PageState {
+
+    /**
+     * Script que recorre los {@code div} y {@code span} visibles cuyo texto propio pertenece a un toast o a un
+     * mensaje conocido (argumento 0). Los {@code span} se clasifican como validaciones y los {@code div} como toasts,
+     * igual que los localizadores de los Page Objects. Los campos {@code type=password} se enmascaran ({@code ***} si
+     * tienen valor), porque la instantánea termina en los mensajes de las aserciones y en los reportes.
+     */
+    private static final String SNAPSHOT_SCRIPT =
+            "const known = arguments[0];"
+            + "const visible = el => !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)"
+            + "  && getComputedStyle(el).visibility !== 'hidden';"
+            + "const ownText = el => Array.from(el.childNodes).filter(n => n.nodeType === 3)"
+            + "  .map(n => n.textContent).join('').trim();"
+            + "const toasts = []; const validations = [];"
+            + "document.querySelectorAll('div, span').forEach(el => {"
+            + "  const text = ownText(el);"
+            + "  if (!text || !visible(el)) return;"
+            + "  const inToast = el.closest(\"[role='status'], [role='alert'], .Toastify__toast\") !== null;"
+            + "  if (!inToast && !known.some(k => text.includes(k))) return;"
+            + "  (el.tagName === 'SPAN' ? validations : toasts).push(text);"
+            + "});"
+            + "const fields = {};"
+            + "document.querySelectorAll('input[id]').forEach(input => fields[input.id] ="
+            + "  input.type === 'password' && input.value ? '***' : input.value);"
+            + "return {toasts: toasts, validations: validations, fields: fields};";
+
+    /** Intervalo entre instantáneas mientras se espera a que la página se estabilice. */
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+
+    private final List<String> toasts;
+    private final List<String> validations;
+    private final Map<String, String> fields;
+
+    private PageState(List<String> toasts, List<String> validations, Map<String, String> fields) {
+        this.toasts = toasts;
+        this.validations = validations;
+        this.fields = fields;
+    }
+
+    /**
+     * Toma una única instantánea del estado de la página.
+     * @param driver La instancia de WebDriver.
+     * @param knownMessages Los textos de mensajes que la página puede mostrar fuera de un toast.
+     * @return La instantánea.
+     */
+    @SuppressWarnings("unchecked")
+    public static PageState capture(WebDriver driver, List<String> knownMessages) {
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, knownMessages);
+        Map<String, String> fields = new LinkedHashMap<>();
+        ((Map<String, Object>) raw.get("fields")).forEach((id, value) -> fields.put(id, String.valueOf(value)));
+        return new PageState(
+                new ArrayList<>((List<String>) raw.get("toasts")),
+                new ArrayList<>((List<String>) raw.get("validations")),
+                fields);
+    }
+
+    /**
+     * Toma instantáneas hasta que la página se estabiliza: aparece al menos un mensaje y dos instantáneas
+     * consecutivas coinciden. Si no aparece ningún mensaje antes del timeout, devuelve la última instantánea.
+     * @param driver La instancia de WebDriver.
+     * @param knownMessages Los textos de mensajes que la página puede mostrar fuera de un toast.
+     * @param timeout El tiempo máximo de espera.
+     * @return La última instantánea tomada.
+     */
+    public static PageState awaitSettled(WebDriver driver, List<String> knownMessages, Duration timeout) {
+        Instant deadline = Instant.now().plus(timeout);
+        PageState previous = capture(driver, knownMessages);
+        while (Instant.now().isBefore(deadline)) {
+            try {
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            PageState current = capture(driver, knownMessages);
+            if (!current.messages().isEmpty() && current.sameAs(previous)) {
+                return current;
+            }
+            previous = current;
+        }
+        return previous;
+    }
+
+    /**
+     * @return Los textos de los toasts visibles.
+     */
+    public List<String> getToasts() {
+        return toasts;
+    }
+
+    /**
+     * @return Los textos de los mensajes de validación visibles.
+     */
+    public List<String> getValidations() {
+        return validations;
+    }
+
+    /**
+     * @return Los valores de los campos de la página, indexados por su id; las contraseñas aparecen como {@code ***}.
+     */
+    public Map<String, String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return Todos los mensajes visibles: toasts seguidos de validaciones.
+     */
+    public List<String> messages() {
+        List<String> messages = new ArrayList<>(toasts);
+        messages.addAll(validations);
+        return messages;
+    }
+
+    /**
+     * Indica si algún mensaje visible contiene el texto esperado.
+     * @param expected El texto esperado (se usa contains).
+     * @return {@code true} si se encontró el mensaje.
+     */
+    public boolean hasMessage(String expected) {
+        return messages().stream().anyMatch(message -> message.contains(expected));
+    }
+
+    private boolean sameAs(PageState other) {
+        return toasts.equals(other.toasts) && validations.equals(other.validations) && fields.equals(other.fields);
+    }
+
+    @Override
+    public String toString() {
+        return "toasts=" + toasts + ", validations=" + validations + ", fields=" + fields;
+    }
+}
@@ -0,0 +1,310 @@
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Watchdog de los procesos de driver y navegador lanzados por la suite.
+ * Registra el árbol de procesos (chromedriver/geckodriver/msedgedriver y el navegador) de cada sesión mediante
+ * {@link ProcessHandle}, muestrea periódicamente su CPU y memoria residente (RSS), mata las sesiones colgadas que
+ * superan el plazo ({@code -Dwatchdog.deadlineMinutes}) y, al cerrar cada sesión o al terminar la suite, elimina
+ * los procesos huérfanos que {@code driver.quit()} no alcanzó a cerrar.
+ * El consumo por prueba se publica en el reporte de TestNG y en {@code resource-usage.csv}.
+ */
+public class ProcessWatchdog implements ISuiteListener {
+
+    /** Plazo máximo de una prueba antes de considerar su sesión colgada. */
+    private static final Duration DEADLINE = Duration.ofMinutes(Long.getLong("watchdog.deadlineMinutes", 10));
+    /** Intervalo entre muestras de CPU y memoria. */
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(Long.getLong("watchdog.sampleMillis", 1000));
+    /** Tiempo que se espera a que los procesos terminen solos tras {@code driver.quit()}. */
+    private static final Duration EXIT_GRACE = Duration.ofSeconds(5);
+    /** Nombres de ejecutables de driver: raíz de cada sesión y huérfanos si siguen vivos al final de la suite. */
+    private static final List<String> DRIVER_EXECUTABLES = List.of("chromedriver", "geckodriver", "msedgedriver", "safaridriver");
+
+    /** Sesiones abiertas actualmente. */
+    private static final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    /** Consumo registrado de cada prueba finalizada. */
+    private static final List<String> usageRows = new CopyOnWriteArrayList<>();
+    /** Hilo que muestrea las sesiones abiertas. */
+    private static final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "process-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        sampler.scheduleAtFixedRate(ProcessWatchdog::sampleAll,
+                SAMPLE_INTERVAL.toMillis(), SAMPLE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Árbol de procesos de una sesión de WebDriver y el consumo acumulado de la prueba en curso.
+     */
+    public static final class Session {
+        private final WebDriver driver;
+        /** Todos los procesos vistos en el árbol, incluidos los que quedaron huérfanos al morir su padre. */
+        private final Map<Long, ProcessHandle> known = new ConcurrentHashMap<>();
+        /** Última CPU acumulada observada por pid, para no perder la de procesos que ya terminaron. */
+        private final Map<Long, Duration> cpuByPid = new ConcurrentHashMap<>();
+        private volatile String testName;
+        private volatile Instant testStart;
+        private volatile Duration cpuAtStart = Duration.ZERO;
+        private volatile long peakRssKb = -1;
+        private volatile boolean killedByDeadline;
+
+        private Session(WebDriver driver, List<ProcessHandle> roots) {
+            this.driver = driver;
+            roots.forEach(this::remember);
+        }
+
+        /**
+         * @return La sesión de WebDriver vigilada.
+         */
+        public WebDriver driver() {
+            return driver;
+        }
+
+        /**
+         * Marca el inicio de una prueba sobre esta sesión (una sesión puede atender varias filas en modo batching).
+         * @param name El nombre de la prueba.
+         */
+        public void beginTest(String name) {
+            sample();
+            testName = name;
+            testStart = Instant.now();
+            cpuAtStart = totalCpu();
+            peakRssKb = currentRssKb();
+        }
+
+        /**
+         * Cierra la ventana de medición de la prueba y publica su consumo de CPU y memoria.
+         * @param result El resultado de la prueba.
+         */
+        public void endTest(ITestResult result) {
+            if (testStart == null) {
+                return;
+            }
+            sample();
+            Duration cpu = totalCpu().minus(cpuAtStart);
+            long wallMillis = Duration.between(testStart, Instant.now()).toMillis();
+            // En los data providers la última columna es el nombre del escenario.
+            Object[] parameters = result.getParameters();
+            String name = parameters.length == 0 ? testName : testName + " " + parameters[parameters.length - 1];
+            String row = String.join(",", csv(name), String.valueOf(wallMillis), String.valueOf(cpu.toMillis()),
+                    String.valueOf(peakRssKb), String.valueOf(aliveProcesses().size()), String.valueOf(killedByDeadline));
+            usageRows.add(row);
+            String summary = "Resource usage: cpu=" + cpu.toMillis() + "ms, peakRss=" + peakRssKb + "kB, wall=" + wallMillis + "ms"
+                    + (killedByDeadline ? " (killed by watchdog after " + DEADLINE.toMinutes() + " min)" : "");
+            result.setAttribute("resourceUsage", summary);
+            Reporter.log(summary);
+            testStart = null;
+        }
+
+        /**
+         * Espera a que el árbol de procesos termine tras {@code driver.quit()} y mata los que sigan vivos.
+         */
+        public void close() {
+            sessions.remove(this);
+            sample();
+            Instant deadline = Instant.now().plus(EXIT_GRACE);
+            while (!aliveProcesses().isEmpty() && Instant.now().isBefore(deadline)) {
+                sleep(Duration.ofMillis(200));
+            }
+            List<ProcessHandle> orphans = aliveProcesses();
+            if (!orphans.isEmpty()) {
+                System.err.println("Process watchdog: killing " + orphans.size() + " orphan process(es) of " + testName);
+                killAll(orphans);
+            }
+        }
+
+        private void remember(ProcessHandle handle) {
+            known.putIfAbsent(handle.pid(), handle);
+            handle.descendants().forEach(child -> known.putIfAbsent(child.pid(), child));
+        }
+
+        private void sample() {
+            for (ProcessHandle handle : aliveProcesses()) {
+                remember(handle);
+                handle.info().totalCpuDuration().ifPresent(cpu -> cpuByPid.put(handle.pid(), cpu));
+            }
+            long rss = currentRssKb();
+            if (rss > peakRssKb) {
+                peakRssKb = rss;
+            }
+            Instant start = testStart;
+            if (start != null && !killedByDeadline && Duration.between(start, Instant.now()).compareTo(DEADLINE) > 0) {
+                killedByDeadline = true;
+                System.err.println("Process watchdog: " + testName + " exceeded " + DEADLINE.toMinutes() + " min, killing its browser");
+                killAll(aliveProcesses());
+            }
+        }
+
+        private List<ProcessHandle> aliveProcesses() {
+            return known.values().stream().filter(ProcessHandle::isAlive).collect(Collectors.toList());
+        }
+
+        private Duration totalCpu() {
+            return cpuByPid.values().stream().reduce(Duration.ZERO, Duration::plus);
+        }
+
+        private long currentRssKb() {
+            long total = -1;
+            for (ProcessHandle handle : aliveProcesses()) {
+                long rss = rssKb(handle.pid());
+                if (rss >= 0) {
+                    total = Math.max(total, 0) + rss;
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Arranca el servicio del driver, registra su proceso y crea la sesión de WebDriver sobre él.
+     * La raíz de la sesión es solo el nuevo hijo directo de la JVM cuyo ejecutable es un driver; el navegador se
+     * obtiene de sus descendientes. Así no se atribuyen a la sesión los procesos que otras pruebas lanzan en el mismo
+     * intervalo (renderers de otras sesiones, la ejecución de Bruno). Solo el arranque del servicio se serializa,
+     * para distinguir los drivers que arrancan en paralelo; el navegador se lanza fuera del bloqueo.
+     * @param service El servicio del driver, aún sin arrancar.
+     * @param factory La función que crea el WebDriver sobre el servicio ya arrancado.
+     * @param <S> El tipo de servicio del driver.
+     * @return La sesión vigilada.
+     */
+    public static <S extends DriverService> Session track(S service, Function<S, WebDriver> factory) {
+        List<ProcessHandle> driverProcesses;
+        synchronized (ProcessWatchdog.class) {
+            Set<Long> before = ProcessHandle.current().children().map(ProcessHandle::pid).collect(Collectors.toSet());
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the driver service", e);
+            }
+            driverProcesses = ProcessHandle.current().children()
+                    .filter(handle -> !before.contains(handle.pid()))
+                    .filter(ProcessWatchdog::isDriverProcess)
+                    .collect(Collectors.toList());
+        }
+        WebDriver driver;
+        try {
+            driver = factory.apply(service);
+        } catch (RuntimeException e) {
+            service.stop();
+            throw e;
+        }
+        Session session = new Session(driver, driverProcesses);
+        sessions.add(session);
+        return session;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        usageRows.clear();
+    }
+
+    /**
+     * Al terminar la suite cierra las sesiones que quedaron abiertas (p. ej. por hilos que murieron),
+     * mata los drivers huérfanos y guarda el consumo por prueba en {@code resource-usage.csv}.
+     * @param suite La suite que termina.
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        for (Session session : new ArrayList<>(sessions)) {
+            session.close();
+        }
+        List<ProcessHandle> orphanDrivers = ProcessHandle.current().descendants()
+                .filter(ProcessWatchdog::isDriverProcess)
+                .collect(Collectors.toList());
+        if (!orphanDrivers.isEmpty()) {
+            System.err.println("Process watchdog: killing " + orphanDrivers.size() + " leftover driver process(es)");
+            killAll(orphanDrivers);
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add("test,wallMillis,cpuMillis,peakRssKb,processesLeft,killedByDeadline");
+        lines.addAll(usageRows);
+        try {
+            Path output = Path.of(suite.getOutputDirectory(), "resource-usage.csv");
+            Files.createDirectories(output.getParent());
+            Files.write(output, lines);
+        } catch (IOException e) {
+            System.err.println("Could not write resource usage report: " + e.getMessage());
+        }
+    }
+
+    private static boolean isDriverProcess(ProcessHandle handle) {
+        return handle.info().command()
+                .map(command -> DRIVER_EXECUTABLES.stream().anyMatch(command::contains))
+                .orElse(false);
+    }
+
+    private static void sampleAll() {
+        for (Session session : sessions) {
+            try {
+                session.sample();
+            } catch (RuntimeException e) {
+                // Un fallo de muestreo no debe detener el watchdog.
+            }
+        }
+    }
+
+    /**
+     * Mata los procesos indicados junto con sus descendientes, empezando por los hijos.
+     */
+    private static void killAll(List<ProcessHandle> handles) {
+        for (ProcessHandle handle : handles) {
+            handle.descendants().forEach(ProcessHandle::destroyForcibly);
+            handle.destroyForcibly();
+        }
+    }
+
+    /**
+     * Lee la memoria residente de un proceso desde {@code /proc} (solo Linux).
+     * @return La RSS en kB, o -1 si no está disponible en este sistema operativo.
+     */
+    private static long rssKb(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Proceso terminado o sistema sin /proc.
+        }
+        return -1;
+    }
+
+    private static String csv(String value) {
+        return "\"" + String.valueOf(value).replace("\"", "\"\"") + "\"";
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Gestor de perfiles de Chrome precalentados.
+ * Con {@code -DwarmProfile=true} se construye una sola vez por suite un user-data-dir que ya cargó varias veces la URL
+ * base, de modo que la caché HTTP y la caché de código de V8 contienen los bundles JS, CSS y fuentes del sitio.
+ * Del perfil se eliminan cookies, almacenamiento local y credenciales para no arrastrar estado de sesión.
+ * Cada sesión nueva recibe una copia del perfil (clonada con copy-on-write cuando el sistema de archivos lo permite).
+ */
+public final class ProfileSnapshotManager {
+
+    /** Archivos y carpetas del perfil que guardan estado de autenticación o bloqueos de la instancia. */
+    private static final List<String> STATEFUL_ENTRIES = List.of(
+            "Default/Cookies", "Default/Cookies-journal", "Default/Network/Cookies", "Default/Network/Cookies-journal",
+            "Default/Local Storage", "Default/Session Storage", "Default/IndexedDB", "Default/Sessions",
+            "Default/Login Data", "Default/Login Data-journal", "Default/Web Data", "Default/Web Data-journal",
+            "SingletonLock", "SingletonSocket", "SingletonCookie");
+
+    /**
+     * Cargas de la URL base durante el precalentamiento. V8 solo escribe la caché de código cuando un script se
+     * ejecuta de nuevo tras su primera carga, así que una sola visita dejaría solo la caché HTTP.
+     */
+    private static final int WARM_UP_LOADS = 3;
+    /** Tiempo sin recursos nuevos tras el que se considera que la página terminó de cargar. */
+    private static final Duration NETWORK_IDLE = Duration.ofSeconds(1);
+    /** Tiempo máximo de cada carga del precalentamiento. */
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Perfil base precalentado, compartido por todas las sesiones de la suite. */
+    private static Path snapshot;
+    /** Indica que el precalentamiento ya falló en esta suite; las sesiones siguientes usan perfil vacío sin reintentar. */
+    private static boolean warmUpFailed;
+
+    private ProfileSnapshotManager() {
+    }
+
+    /**
+     * Indica si el uso de perfiles precalentados está activado.
+     * @return {@code true} si se ejecutó con {@code -DwarmProfile=true}.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("warmProfile");
+    }
+
+    /**
+     * Crea un user-data-dir nuevo para una sesión, clonado del perfil precalentado.
+     * El perfil base se construye en la primera llamada; si su construcción falla, se avisa una vez y todas las
+     * sesiones usan un perfil vacío.
+     * @param baseUrl La URL que se visita para llenar la caché.
+     * @return La carpeta del perfil clonado, que debe eliminarse con {@link #discard(Path)} al cerrar la sesión,
+     *         o {@code null} si no hay perfil precalentado.
+     */
+    public static Path newSessionProfile(String baseUrl) {
+        Path base = snapshot(baseUrl);
+        if (base == null) {
+            return null;
+        }
+        try {
+            Path clone = Files.createTempDirectory("mohaax-profile-session-");
+            copyOnWrite(base, clone);
+            return clone;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clone warm browser profile", e);
+        }
+    }
+
+    /**
+     * Elimina el perfil clonado de una sesión ya cerrada.
+     * @param profile La carpeta del perfil, o {@code null}.
+     */
+    public static void discard(Path profile) {
+        if (profile != null) {
+            deleteRecursively(profile);
+        }
+    }
+
+    private static synchronized Path snapshot(String baseUrl) {
+        if (snapshot != null || warmUpFailed) {
+            return snapshot;
+        }
+        Path dir = null;
+        try {
+            dir = Files.createTempDirectory("mohaax-profile-snapshot-");
+            WebDriverManager.chromedriver().setup();
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--user-data-dir=" + dir.toAbsolutePath());
+            // Se crea a través del watchdog para que sus procesos no se atribuyan a otra sesión que arranque a la vez.
+            ProcessWatchdog.Session warmSession = ProcessWatchdog.track(ChromeDriverService.createDefaultService(),
+                    service -> new ChromeDriver(service, options));
+            WebDriver warmDriver = warmSession.driver();
+            try {
+                warmDriver.get(baseUrl);
+                waitForNetworkIdle(warmDriver);
+                for (int load = 1; load < WARM_UP_LOADS; load++) {
+                    warmDriver.navigate().refresh();
+                    waitForNetworkIdle(warmDriver);
+                }
+                warmDriver.manage().deleteAllCookies();
+                ((JavascriptExecutor) warmDriver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            } finally {
+                try {
+                    warmDriver.quit();
+                } finally {
+                    warmSession.close();
+                }
+            }
+            for (String entry : STATEFUL_ENTRIES) {
+                deleteRecursively(dir.resolve(entry));
+            }
+            Path built = dir;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteRecursively(built)));
+            snapshot = dir;
+            return dir;
+        } catch (IOException | RuntimeException e) {
+            // Un sitio lento o un Chrome que no arranca no debe romper la configuración de cada prueba de Chrome.
+            warmUpFailed = true;
+            System.err.println("Could not build warm browser profile, using cold profiles: " + e.getMessage());
+            if (dir != null) {
+                deleteRecursively(dir);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Espera a que la página termine de cargar y no pida recursos nuevos durante {@link #NETWORK_IDLE}.
+     */
+    private static void waitForNetworkIdle(WebDriver driver) {
+        long[] lastChange = {-1, System.currentTimeMillis()};
+        new WebDriverWait(driver, WARM_UP_TIMEOUT).pollingEvery(Duration.ofMillis(250)).until(d -> {
+            long resources = ((Number) ((JavascriptExecutor) d).executeScript(
+                    "return document.readyState === 'complete' ? performance.getEntriesByType('resource').length : -1"))
+                    .longValue();
+            long now = System.currentTimeMillis();
+            if (resources < 0 || resources != lastChange[0]) {
+                lastChange[0] = resources;
+                lastChange[1] = now;
+                return false;
+            }
+            return now - lastChange[1] >= NETWORK_IDLE.toMillis();
+        });
+    }
+
+    /**
+     * Copia el perfil base usando clonación copy-on-write del sistema de archivos si está disponible
+     * ({@code cp --reflink=auto} en Linux, {@code cp -c} en macOS) y una copia normal en caso contrario.
+     */
+    private static void copyOnWrite(Path source, Path target) throws IOException {
+        String os = System.getProperty("os.name").toLowerCase();
+        String[] command = null;
+        if (os.contains("linux")) {
+            command = new String[]{"cp", "--reflink=auto", "-R", source + "/.", target.toString()};
+        } else if (os.contains("mac")) {
+            command = new String[]{"cp", "-c", "-R", source + "/.", target.toString()};
+        }
+        if (command != null) {
+            try {
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                process.getInputStream().transferTo(OutputStream.nullOutputStream());
+                if (process.waitFor() == 0) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path destination = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.copy(path, destination);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        // SingletonLock es un enlace simbólico roto: no se deben seguir los enlaces al comprobar su existencia.
+        if (!Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(entry -> {
+                try {
+                    Files.deleteIfExists(entry);
+                } catch (IOException e) {
+                    // Archivos bloqueados por un proceso que aún no termina: se ignoran.
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Could not delete browser profile " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,251 @@
+import io.github.cdimascio.dotenv.Dotenv;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Matriz de datos de registro declarada por dimensiones y clases de equivalencia.
+ * Las clases válidas se combinan con cobertura t-wise mediante {@link CombinatorialGenerator}: pairwise para Bruno
+ * ({@code -Dregistration.strength}, por defecto 2) y cada clase una vez para la UI ({@code -Dregistration.uiStrength},
+ * por defecto 1), donde cada fila es costosa y crea una cuenta real. Cada clase inválida se prueba una sola vez sobre
+ * una fila válida (un solo fallo por fila), para que el mensaje esperado no dependa del orden de validación del sitio.
+ * Las filas alimentan los data providers de {@link SignUpTest} y la colección Bruno
+ * ({@code Register/register-matrix.bru}), con usuarios y correos únicos generados por {@link UniqueIdentity}.
+ */
+public final class RegistrationMatrix {
+
+    /** Mensaje que muestran la UI y la API cuando el registro es exitoso. */
+    private static final String SUCCESS_MESSAGE = "Usuario Creado Con éxito";
+
+    /**
+     * Datos de una fila en construcción. Cada clase de equivalencia modifica los campos de su dimensión.
+     */
+    private static final class Draft {
+        String id;
+        String username;
+        String email;
+        String volute;
+        String password;
+        String repeatPassword;
+    }
+
+    /**
+     * Clase de equivalencia de una dimensión.
+     * @param label Nombre de la clase, usado en el nombre del escenario.
+     * @param valid {@code true} si la clase no debería impedir el registro.
+     * @param apply Cómo la clase completa los datos de la fila.
+     * @param uiMessage Mensaje esperado en la UI para una clase inválida.
+     * @param apiStatus Códigos HTTP aceptados en la API para una clase inválida (separados por comas).
+     * @param apiMessage Mensaje esperado en la API para una clase inválida.
+     */
+    private record Choice(String label, boolean valid, BiConsumer<Draft, RegistrationMatrix> apply,
+                          String uiMessage, String apiStatus, String apiMessage) {
+
+        static Choice valid(String label, BiConsumer<Draft, RegistrationMatrix> apply) {
+            return new Choice(label, true, apply, SUCCESS_MESSAGE, "201", SUCCESS_MESSAGE);
+        }
+
+        static Choice invalid(String label, BiConsumer<Draft, RegistrationMatrix> apply,
+                              String uiMessage, String apiStatus, String apiMessage) {
+            return new Choice(label, false, apply, uiMessage, apiStatus, apiMessage);
+        }
+    }
+
+    /**
+     * Dimensión de entrada con sus clases de equivalencia.
+     * @param name Nombre de la dimensión.
+     * @param choices Clases de equivalencia; la primera válida es la que se usa en las filas de clases inválidas.
+     */
+    private record Dimension(String name, List<Choice> choices) {
+
+        List<Choice> validChoices() {
+            return choices.stream().filter(Choice::valid).toList();
+        }
+    }
+
+    /**
+     * Fila generada de la matriz.
+     * @param username El nombre de usuario.
+     * @param email El correo electrónico.
+     * @param volute El valor para el campo 'volute'.
+     * @param password La contraseña.
+     * @param repeatPassword La repetición de la contraseña.
+     * @param uiMessage El mensaje esperado en la UI.
+     * @param apiStatus Los códigos HTTP aceptados en la API (separados por comas).
+     * @param apiMessage El mensaje esperado en la API.
+     * @param scenarioName La descripción del escenario, única dentro de la matriz.
+     * @param valid {@code true} si se espera que el registro sea exitoso en la UI.
+     */
+    public record Row(String username, String email, String volute, String password, String repeatPassword,
+                      String uiMessage, String apiStatus, String apiMessage, String scenarioName, boolean valid) {
+    }
+
+    /**
+     * Dimensiones del formulario de registro. Los mensajes esperados reproducen el comportamiento actual del sitio:
+     * la UI valida campos vacíos y contraseñas distintas, mientras que la API solo exige campos no vacíos.
+     */
+    private static final List<Dimension> DIMENSIONS = List.of(
+            new Dimension("username", List.of(
+                    Choice.valid("regular username", (d, m) -> d.username = "usuarioExito" + d.id),
+                    Choice.valid("short username", (d, m) -> d.username = d.id + "short"),
+                    Choice.invalid("empty username", (d, m) -> d.username = "",
+                            "Nombre de usuario es obligatorio", "400", "Todos los campos son requeridos"),
+                    Choice.invalid("very long username", (d, m) -> d.username = "usuario" + d.id.replace("_", "") + "usuariolarguisimo",
+                            "Hubo un error interno en el servidor", "500", "Hubo un error interno en el servidor"),
+                    Choice.invalid("existing username", (d, m) -> d.username = m.registeredUsername,
+                            "Ya hay un jugador con ese nombre", "400,409", "Ya hay un jugador con ese nombre"))),
+            new Dimension("email", List.of(
+                    Choice.valid("unique email", (d, m) -> d.email = d.id + "email@gmail.com"),
+                    Choice.invalid("empty email", (d, m) -> d.email = "",
+                            "Correo no válido", "400", "Todos los campos son requeridos"),
+                    Choice.invalid("existing email", (d, m) -> d.email = m.registeredEmail,
+                            "Ya hay un jugador registrado con ese email", "400,409", "Ya hay un jugador registrado con ese email"))),
+            new Dimension("volute", List.of(
+                    Choice.valid("volute set", (d, m) -> d.volute = "10000"),
+                    Choice.invalid("empty volute", (d, m) -> d.volute = "",
+                            "Todos los campos son requeridos", "400", "Todos los campos son requeridos"))),
+            new Dimension("password", List.of(
+                    Choice.valid("full password", (d, m) -> d.password = "Password#123"),
+                    Choice.valid("password without numbers", (d, m) -> d.password = "password#"),
+                    Choice.valid("password without special characters", (d, m) -> d.password = "password123"),
+                    Choice.valid("password without letters", (d, m) -> d.password = "123456#"),
+                    Choice.valid("password with less than 6 characters", (d, m) -> d.password = "paz"),
+                    Choice.invalid("empty password", (d, m) -> d.password = "",
+                            "Las contraseñas no coinciden", "400", "Todos los campos son requeridos"))),
+            new Dimension("repeatPassword", List.of(
+                    Choice.valid("matching passwords", (d, m) -> d.repeatPassword = d.password.isEmpty() ? "password123#" : d.password),
+                    // La API no compara las contraseñas: la cuenta se crea igualmente.
+                    Choice.invalid("passwords that don't match", (d, m) -> d.repeatPassword = d.password + "4",
+                            "Las contraseñas no coinciden", "201", SUCCESS_MESSAGE))));
+
+    private final String registeredUsername;
+    private final String registeredEmail;
+
+    /**
+     * @param registeredUsername Un nombre de usuario ya registrado en el entorno.
+     * @param registeredEmail Un correo ya registrado en el entorno.
+     */
+    public RegistrationMatrix(String registeredUsername, String registeredEmail) {
+        this.registeredUsername = registeredUsername;
+        this.registeredEmail = registeredEmail;
+    }
+
+    /**
+     * Crea la matriz con los datos existentes del archivo .env ({@code APP_USERNAME} y {@code EMAIL_REGISTERED}).
+     * @return La matriz de registro.
+     */
+    public static RegistrationMatrix fromEnv() {
+        Dotenv dotenv = Dotenv.load();
+        return new RegistrationMatrix(dotenv.get("APP_USERNAME"), dotenv.get("EMAIL_REGISTERED"));
+    }
+
+    /**
+     * Filas válidas con cobertura t-wise de las clases válidas de todas las dimensiones.
+     * @param strength Fuerza de la cobertura (1 = cada clase válida al menos una vez, 2 = pairwise).
+     * @return Las filas en las que se espera un registro exitoso.
+     */
+    public List<Row> validRows(int strength) {
+        int[] sizes = DIMENSIONS.stream().mapToInt(dimension -> dimension.validChoices().size()).toArray();
+        List<Row> rows = new ArrayList<>();
+        for (int[] indexes : CombinatorialGenerator.cover(sizes, strength)) {
+            List<Choice> choices = new ArrayList<>();
+            for (int i = 0; i < DIMENSIONS.size(); i++) {
+                choices.add(DIMENSIONS.get(i).validChoices().get(indexes[i]));
+            }
+            rows.add(build(choices, null));
+        }
+        return rows;
+    }
+
+    /**
+     * Una fila por cada clase inválida, con las demás dimensiones en su primera clase válida.
+     * @return Las filas en las que se espera un error de registro en la UI.
+     */
+    public List<Row> invalidRows() {
+        List<Row> rows = new ArrayList<>();
+        for (int i = 0; i < DIMENSIONS.size(); i++) {
+            for (Choice invalid : DIMENSIONS.get(i).choices()) {
+                if (invalid.valid()) {
+                    continue;
+                }
+                List<Choice> choices = new ArrayList<>();
+                for (int j = 0; j < DIMENSIONS.size(); j++) {
+                    choices.add(i == j ? invalid : DIMENSIONS.get(j).validChoices().get(0));
+                }
+                rows.add(build(choices, invalid));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Filas válidas en el formato del data provider {@code ValidRegisterData}.
+     * Cada fila de UI es costosa y crea una cuenta real, así que por defecto cada clase válida aparece una sola vez
+     * ({@code -Dregistration.uiStrength}, por defecto 1); la combinación pairwise queda para Bruno.
+     * @return username, email, volute, password, repeatPassword, expectedSuccessMessage, scenarioName.
+     */
+    public Object[][] validUiRows() {
+        return validRows(Integer.getInteger("registration.uiStrength", 1)).stream()
+                .map(row -> new Object[]{row.username(), row.email(), row.volute(), row.password(), row.repeatPassword(),
+                        row.uiMessage(), row.scenarioName()})
+                .toArray(Object[][]::new);
+    }
+
+    /**
+     * Filas inválidas en el formato del data provider {@code InvalidRegisterData}.
+     * @return username, email, volute, password, repeatPassword, expectedError, scenarioName.
+     */
+    public Object[][] invalidUiRows() {
+        return invalidRows().stream()
+                .map(row -> new Object[]{row.username(), row.email(), row.volute(), row.password(), row.repeatPassword(),
+                        row.uiMessage(), row.scenarioName()})
+                .toArray(Object[][]::new);
+    }
+
+    /**
+     * Escribe todas las filas (válidas con {@code -Dregistration.strength} e inválidas) como datos de iteración para
+     * Bruno ({@code --json-file-path}).
+     * @param output El archivo JSON a generar.
+     * @throws IOException si no se puede escribir el archivo.
+     */
+    public void writeBrunoData(Path output) throws IOException {
+        List<Map<String, String>> iterations = new ArrayList<>();
+        List<Row> rows = new ArrayList<>(validRows(Integer.getInteger("registration.strength", 2)));
+        rows.addAll(invalidRows());
+        for (Row row : rows) {
+            Map<String, String> iteration = new LinkedHashMap<>();
+            iteration.put("username", row.username());
+            iteration.put("email", row.email());
+            iteration.put("volute", row.volute());
+            iteration.put("password", row.password());
+            iteration.put("repeatPassword", row.repeatPassword());
+            iteration.put("expectedStatus", row.apiStatus());
+            iteration.put("expectedMessage", row.apiMessage());
+            iteration.put("scenario", row.scenarioName());
+            iterations.add(iteration);
+        }
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, new Json().toJson(iterations));
+    }
+
+    private Row build(List<Choice> choices, Choice invalid) {
+        Draft draft = new Draft();
+        draft.id = UniqueIdentity.next();
+        for (Choice choice : choices) {
+            choice.apply().accept(draft, this);
+        }
+        String scenarioName = invalid != null
+                ? "Register with " + invalid.label()
+                : "Register with " + String.join(", ", choices.stream().map(Choice::label).toList());
+        Choice expected = invalid != null ? invalid : choices.get(0);
+        return new Row(draft.username, draft.email, draft.volute, draft.password, draft.repeatPassword,
+                expected.uiMessage(), expected.apiStatus(), expected.apiMessage(), scenarioName, invalid == null);
+    }
+}
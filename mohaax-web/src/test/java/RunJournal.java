@@ -0,0 +1,248 @@
+import org.openqa.selenium.json.Json;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Journal de ejecución para reanudar suites interrumpidas.
+ * Cada método de prueba y cada fila de data provider se anota en {@code run-journal/<runId>.jsonl} en cuanto
+ * termina. Con {@code -Dresume=<runId>} se omiten los elementos que ya pasaron en ese journal (incluida la fase de
+ * API con Bruno) y solo se ejecutan los fallidos y los que no llegaron a empezar; los resultados nuevos se agregan
+ * al mismo journal y el reporte final ({@code run-journal-<runId>.txt}) combina ambas ejecuciones.
+ * Las filas de data provider se identifican por su última columna (el nombre del escenario).
+ */
+public class RunJournal implements ITestListener, IMethodInterceptor, IDataProviderInterceptor, IReporter {
+
+    private static final String PASSED = "PASS";
+    private static final String FAILED = "FAIL";
+    private static final String SKIPPED = "SKIP";
+
+    private static final Json json = new Json();
+    /** Identificador de la ejecución actual: el de {@code -Dresume}, el de {@code -DrunId} o uno nuevo. */
+    private static final String RUN_ID = System.getProperty("resume",
+            System.getProperty("runId", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))));
+    /** Identificador de esta invocación dentro del journal, para distinguir la ejecución original de la reanudación. */
+    private static final String INVOCATION = Instant.now().toString();
+    /** Elementos que ya pasaron en el journal que se reanuda. */
+    private static final Set<String> alreadyPassed = loadPassed();
+
+    static {
+        System.out.println("Run journal: " + path() + (isResuming() ? " (resuming, " + alreadyPassed.size() + " item(s) already passed)" : ""));
+    }
+
+    /**
+     * @return La ruta del journal de la ejecución actual.
+     */
+    public static Path path() {
+        return Path.of("run-journal", RUN_ID + ".jsonl");
+    }
+
+    private static boolean isResuming() {
+        return System.getProperty("resume") != null;
+    }
+
+    // --- Registro incremental ---
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        append(result, PASSED);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        append(result, FAILED);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        append(result, SKIPPED);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        append(result, FAILED);
+    }
+
+    private static synchronized void append(ITestResult result, String status) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("key", key(result.getTestContext(), result.getMethod(), result.getParameters()));
+        entry.put("status", status);
+        entry.put("invocation", INVOCATION);
+        entry.put("millis", result.getEndMillis() - result.getStartMillis());
+        if (result.getThrowable() != null) {
+            entry.put("error", String.valueOf(result.getThrowable().getMessage()));
+        }
+        try {
+            Files.createDirectories(path().getParent());
+            Files.writeString(path(), json.toJson(entry).replace("\n", " ") + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write run journal: " + e.getMessage());
+        }
+    }
+
+    // --- Reanudación ---
+
+    /**
+     * Quita los métodos sin data provider que ya pasaron; los métodos con data provider se filtran por fila.
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isResuming()) {
+            return methods;
+        }
+        return methods.stream()
+                .filter(instance -> isDataDriven(instance.getMethod())
+                        || !alreadyPassed.contains(key(context, instance.getMethod(), new Object[0])))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Quita las filas del data provider que ya pasaron.
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        if (!isResuming()) {
+            return original;
+        }
+        Iterable<Object[]> rows = () -> original;
+        return StreamSupport.stream(rows.spliterator(), false)
+                .filter(row -> !alreadyPassed.contains(key(context, method, row)))
+                .iterator();
+    }
+
+    // --- Reporte combinado ---
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        Map<String, Map<String, Object>> latest = new LinkedHashMap<>();
+        for (Map<String, Object> entry : readJournal()) {
+            latest.put(String.valueOf(entry.get("key")), entry);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        int passedNow = 0;
+        int passedBefore = 0;
+        List<String> lines = new ArrayList<>();
+        List<String> notPassed = new ArrayList<>();
+        for (Map<String, Object> entry : latest.values()) {
+            boolean thisInvocation = INVOCATION.equals(entry.get("invocation"));
+            String status = String.valueOf(entry.get("status"));
+            if (PASSED.equals(status)) {
+                if (thisInvocation) {
+                    passedNow++;
+                } else {
+                    passedBefore++;
+                }
+            } else {
+                notPassed.add(status + "  " + entry.get("key") + (entry.get("error") != null ? "  -> " + entry.get("error") : ""));
+            }
+            lines.add(String.format("%-4s %-9s %s", status, thisInvocation ? "this run" : "earlier", entry.get("key")));
+        }
+
+        String summary = String.format("Run %s: %d passed (%d in this run, %d in earlier runs), %d not passed",
+                RUN_ID, passedNow + passedBefore, passedNow, passedBefore, notPassed.size());
+        System.out.println(summary);
+        notPassed.forEach(System.out::println);
+        if (!notPassed.isEmpty()) {
+            System.out.println("Resume with -Dresume=" + RUN_ID);
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add(summary);
+        report.addAll(lines);
+        try {
+            Path output = Path.of(outputDirectory, "run-journal-" + RUN_ID + ".txt");
+            Files.createDirectories(output.getParent());
+            Files.write(output, report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Could not write run journal report: " + e.getMessage());
+        }
+    }
+
+    // --- Utilidades ---
+
+    /**
+     * Clave estable de un elemento: bloque {@code <test>}, clase, método y, en los data providers,
+     * la última columna de la fila (el nombre del escenario), que no cambia entre ejecuciones.
+     */
+    private static String key(ITestContext context, ITestNGMethod method, Object[] parameters) {
+        String key = context.getName() + " | " + method.getRealClass().getSimpleName() + "." + method.getMethodName();
+        if (parameters != null && parameters.length > 0) {
+            key += " | " + parameters[parameters.length - 1];
+        }
+        return key;
+    }
+
+    private static boolean isDataDriven(ITestNGMethod method) {
+        Method javaMethod = method.getConstructorOrMethod().getMethod();
+        Test test = javaMethod == null ? null : javaMethod.getAnnotation(Test.class);
+        return test != null && !test.dataProvider().isEmpty();
+    }
+
+    private static Set<String> loadPassed() {
+        if (!isResuming()) {
+            return Set.of();
+        }
+        Map<String, String> latest = new LinkedHashMap<>();
+        for (Map<String, Object> entry : readJournal()) {
+            latest.put(String.valueOf(entry.get("key")), String.valueOf(entry.get("status")));
+        }
+        return latest.entrySet().stream()
+                .filter(entry -> PASSED.equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    private static synchronized List<Map<String, Object>> readJournal() {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        if (!Files.exists(path())) {
+            return entries;
+        }
+        try {
+            for (String line : Files.readAllLines(path(), StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    // Una línea incompleta (ejecución cortada a mitad de escritura) se ignora.
+                    try {
+                        entries.add(json.toType(line, Json.MAP_TYPE));
+                    } catch (RuntimeException e) {
+                        System.err.println("Ignoring malformed run journal line: " + line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not read run journal: " + e.getMessage());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,146 @@
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Utilidades para el modo de ejecución por lotes de escenarios (batching).
+ * Cuando se activa con {@code -DbatchScenarios=true}, las filas de un mismo data provider comparten
+ * la página ya cargada: entre filas solo se reinicia el estado del formulario en lugar de abrir un navegador nuevo.
+ * Cada fila sigue generando su propio resultado en TestNG.
+ */
+public final class ScenarioBatch {
+
+    /** Localizador genérico para las notificaciones (toasts) que muestra la aplicación. */
+    private static final By toasts = By.cssSelector("[role='status'], [role='alert'], .Toastify__toast");
+
+    /** Tiempo máximo que se espera a que desaparezcan los toasts antes de dar por fallido el reinicio. */
+    private static final Duration TOAST_DISMISS_TIMEOUT =
+            Duration.ofSeconds(Long.getLong("batchToastTimeout", 5));
+
+    private ScenarioBatch() {
+    }
+
+    /**
+     * Indica si el modo batching está activado.
+     * @return {@code true} si se ejecutó con {@code -DbatchScenarios=true}.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("batchScenarios");
+    }
+
+    /**
+     * Calcula la clave de lote de un método de prueba. Solo las filas de un mismo método con data provider
+     * se consideran compatibles entre sí.
+     * @param method El método de prueba que se va a ejecutar.
+     * @return La clave del lote, o {@code null} si el método no puede compartir sesión.
+     */
+    public static String keyFor(Method method) {
+        if (!isEnabled() || method == null) {
+            return null;
+        }
+        Test test = method.getAnnotation(Test.class);
+        if (test == null || test.dataProvider().isEmpty()) {
+            return null;
+        }
+        return method.getDeclaringClass().getName() + "#" + method.getName();
+    }
+
+    /**
+     * Cierra los toasts visibles haciendo clic sobre ellos y espera a que desaparezcan.
+     * @param driver La instancia de WebDriver de la sesión reutilizada.
+     * @return {@code true} si no queda ningún toast visible dentro del tiempo de espera.
+     */
+    public static boolean dismissToasts(WebDriver driver) {
+        return withoutImplicitWait(driver, () -> {
+            for (WebElement toast : driver.findElements(toasts)) {
+                try {
+                    if (toast.isDisplayed()) {
+                        toast.click();
+                    }
+                } catch (WebDriverException e) {
+                    // El toast pudo desaparecer por sí solo entre la búsqueda y el clic.
+                }
+            }
+            Instant deadline = Instant.now().plus(TOAST_DISMISS_TIMEOUT);
+            while (Instant.now().isBefore(deadline)) {
+                if (noneDisplayed(driver, toasts)) {
+                    return true;
+                }
+                sleep(Duration.ofMillis(200));
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Comprueba, sin esperas implícitas, que ninguno de los localizadores tenga elementos visibles.
+     * @param driver La instancia de WebDriver.
+     * @param locators Los localizadores a comprobar.
+     * @return {@code true} si ningún elemento está visible.
+     */
+    public static boolean noneDisplayed(WebDriver driver, By... locators) {
+        return withoutImplicitWait(driver, () -> {
+            for (By locator : locators) {
+                List<WebElement> elements = driver.findElements(locator);
+                for (WebElement element : elements) {
+                    try {
+                        if (element.isDisplayed()) {
+                            return false;
+                        }
+                    } catch (WebDriverException e) {
+                        // Elemento eliminado del DOM durante la comprobación: no cuenta como visible.
+                    }
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Vacía un campo con el teclado (seleccionar todo + Suprimir) en lugar de {@link WebElement#clear()}.
+     * {@code clear()} no dispara eventos {@code input}, así que en un formulario controlado por el framework el estado
+     * de la aplicación conservaría el valor de la fila anterior aunque el DOM quede vacío.
+     * @param field El campo a vaciar.
+     * @return {@code true} si el campo quedó vacío.
+     */
+    public static boolean clearWithKeyboard(WebElement field) {
+        Keys selectAllModifier = System.getProperty("os.name").toLowerCase().contains("mac") ? Keys.COMMAND : Keys.CONTROL;
+        field.sendKeys(Keys.chord(selectAllModifier, "a"), Keys.DELETE);
+        return field.getAttribute("value").isEmpty();
+    }
+
+    /**
+     * Ejecuta una acción con la espera implícita desactivada y la restaura al terminar.
+     * Evita que cada {@code findElements} sobre un elemento ausente consuma la espera implícita completa.
+     * @param driver La instancia de WebDriver.
+     * @param action La acción a ejecutar.
+     * @param <T> El tipo del resultado.
+     * @return El resultado de la acción.
+     */
+    public static <T> T withoutImplicitWait(WebDriver driver, Supplier<T> action) {
+        Duration implicitWait = driver.manage().timeouts().getImplicitWaitTimeout();
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return action.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,10 +1,12 @@
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Page Object Model (POM) para la página de registro de usuarios (Sign Up).
@@ -51,6 +53,12 @@ public class SignUpPage {
     /** Localizador para el mensaje de error interno del servidor (ej. longitud de username muy larga). */
     private final By serverInternalErrorMessage = By.xpath("//div[contains(text(),'Hubo un error interno en el servidor')]");
 
+    /** Textos de todos los mensajes que el formulario de registro puede mostrar, usados por {@link #getFormState()}. */
+    private static final List<String> KNOWN_MESSAGES = List.of(
+            "Usuario Creado Con éxito", "Nombre de usuario es obligatorio", "Correo no válido", "Las contraseñas no coinciden",
+            "Ya hay un jugador con ese nombre", "Ya hay un jugador registrado con ese email", "Todos los campos son requeridos",
+            "Hubo un error interno en el servidor");
+
     /**
      * Constructor para la clase SignUpPage.
      * @param driver La instancia de WebDriver a usar para la interacción con la página.
@@ -70,6 +78,7 @@ public class SignUpPage {
      */
     public void navigateToSignUpPage(String url) {
         driver.get(url);
+        PageLoadMetrics.record(driver);
         WebElement loginButton = wait.until(ExpectedConditions.elementToBeClickable(loginButtonMainPage));
         loginButton.click();
         WebElement signUpLinkElement = wait.until(ExpectedConditions.elementToBeClickable(signUpLink));
@@ -77,6 +86,55 @@ public class SignUpPage {
         wait.until(ExpectedConditions.visibilityOfElementLocated(usernameInput));
     }
 
+    /**
+     * Deja el formulario de registro listo para una nueva fila de datos.
+     * Si la sesión se reutiliza (modo batching) intenta reiniciar solo el formulario;
+     * si el reinicio no se puede verificar, recarga la página completa con {@link #navigateToSignUpPage(String)}.
+     * @param url La URL base de la aplicación.
+     * @param reuseSession {@code true} si la página ya fue cargada por la fila anterior.
+     */
+    public void openSignUpForm(String url, boolean reuseSession) {
+        if (reuseSession && resetSignUpForm()) {
+            return;
+        }
+        navigateToSignUpPage(url);
+    }
+
+    /**
+     * Reinicia el estado del formulario de registro sin recargar la página.
+     * 1. Cierra los toasts visibles.
+     * 2. Reabre el modal de login y el enlace de registro si el formulario se cerró.
+     * 3. Limpia todos los campos del formulario con el teclado, para que la aplicación reciba los eventos de entrada.
+     * @return {@code true} si el formulario quedó visible, vacío y sin mensajes de validación; {@code false} en caso contrario.
+     */
+    public boolean resetSignUpForm() {
+        if (!ScenarioBatch.dismissToasts(driver)) {
+            return false;
+        }
+        return ScenarioBatch.withoutImplicitWait(driver, () -> {
+            try {
+                if (driver.findElements(usernameInput).isEmpty()) {
+                    List<WebElement> mainButtons = driver.findElements(loginButtonMainPage);
+                    if (!mainButtons.isEmpty()) {
+                        mainButtons.get(0).click();
+                    }
+                    wait.until(ExpectedConditions.elementToBeClickable(signUpLink)).click();
+                    wait.until(ExpectedConditions.visibilityOfElementLocated(usernameInput));
+                }
+                for (By field : List.of(usernameInput, emailInput, voluteInput, passwordInput, repeatPasswordInput)) {
+                    if (!ScenarioBatch.clearWithKeyboard(driver.findElement(field))) {
+                        return false;
+                    }
+                }
+                return ScenarioBatch.noneDisplayed(driver, usernameErrorMessage, emailErrorMessage, passwordMismatchError,
+                        successMessage, usernameExistsMessage, emailExistsMessage, allFieldsRequiredMessage, serverInternalErrorMessage);
+            } catch (WebDriverException e) {
+                // Cualquier fallo durante el reinicio se resuelve con una recarga completa.
+                return false;
+            }
+        });
+    }
+
     /**
      * Ingresa las credenciales y datos de registro en los campos del formulario.
      * Se asegura de limpiar cada campo antes de enviar los valores.
@@ -115,6 +173,16 @@ public class SignUpPage {
         wait.until(ExpectedConditions.elementToBeClickable(registerButton)).click();
     }
 
+    /**
+     * Obtiene en un solo paso todos los toasts, mensajes de validación y valores de campos del formulario,
+     * esperando hasta 10 segundos a que la página se estabilice tras el envío.
+     * A diferencia de los getters de cada mensaje, no espera a un localizador concreto: devuelve lo que realmente apareció.
+     * @return La instantánea del estado del formulario.
+     */
+    public PageState getFormState() {
+        return PageState.awaitSettled(driver, KNOWN_MESSAGES, Duration.ofSeconds(10));
+    }
+
     /**
      * Obtiene el texto del mensaje de error de nombre de usuario obligatorio.
      * @return El texto del mensaje de error.
@@ -0,0 +1,108 @@
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Muestreo de métricas de memoria y DOM por CDP ({@code Performance.getMetrics}) para las pruebas soak.
+ * Antes de cada muestra se fuerza una recolección de basura ({@code HeapProfiler.collectGarbage}) para que el heap
+ * refleje solo la memoria retenida. La tendencia se estima con la pendiente de mínimos cuadrados por iteración.
+ * Solo funciona en navegadores Chromium (Chrome y Edge).
+ */
+public final class SoakMetrics {
+
+    /**
+     * Métricas tomadas al final de una iteración.
+     * @param iteration Número de iteración (desde 1).
+     * @param jsHeapUsedSize Bytes usados del heap de JavaScript.
+     * @param nodes Nodos DOM vivos.
+     * @param jsEventListeners Listeners de eventos registrados.
+     * @param layoutCount Layouts acumulados desde el inicio de la página.
+     * @param recalcStyleCount Recálculos de estilo acumulados desde el inicio de la página.
+     */
+    public record Sample(int iteration, double jsHeapUsedSize, double nodes, double jsEventListeners,
+                         double layoutCount, double recalcStyleCount) {
+    }
+
+    private SoakMetrics() {
+    }
+
+    /**
+     * Activa el dominio Performance de CDP; debe llamarse una vez antes de {@link #sample(HasCdp, int)}.
+     * @param cdp El driver con acceso a CDP.
+     */
+    public static void enable(HasCdp cdp) {
+        cdp.executeCdpCommand("Performance.enable", Map.of());
+    }
+
+    /**
+     * Fuerza una recolección de basura y lee las métricas de la página.
+     * @param cdp El driver con acceso a CDP.
+     * @param iteration El número de iteración de la muestra.
+     * @return La muestra.
+     */
+    @SuppressWarnings("unchecked")
+    public static Sample sample(HasCdp cdp, int iteration) {
+        cdp.executeCdpCommand("HeapProfiler.collectGarbage", Map.of());
+        Map<String, Object> response = cdp.executeCdpCommand("Performance.getMetrics", Map.of());
+        Map<String, Double> metrics = new HashMap<>();
+        for (Object item : (List<Object>) response.get("metrics")) {
+            Map<String, Object> metric = (Map<String, Object>) item;
+            metrics.put(String.valueOf(metric.get("name")), ((Number) metric.get("value")).doubleValue());
+        }
+        return new Sample(iteration,
+                metrics.getOrDefault("JSHeapUsedSize", 0.0),
+                metrics.getOrDefault("Nodes", 0.0),
+                metrics.getOrDefault("JSEventListeners", 0.0),
+                metrics.getOrDefault("LayoutCount", 0.0),
+                metrics.getOrDefault("RecalcStyleCount", 0.0));
+    }
+
+    /**
+     * Pendiente de mínimos cuadrados de una métrica respecto al número de iteración.
+     * @param samples Las muestras a ajustar.
+     * @param metric La métrica de cada muestra.
+     * @return El crecimiento medio por iteración, o 0 si hay menos de dos muestras.
+     */
+    public static double slope(List<Sample> samples, ToDoubleFunction<Sample> metric) {
+        int n = samples.size();
+        if (n < 2) {
+            return 0;
+        }
+        double meanX = samples.stream().mapToDouble(Sample::iteration).average().orElse(0);
+        double meanY = samples.stream().mapToDouble(metric).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (Sample sample : samples) {
+            double dx = sample.iteration() - meanX;
+            covariance += dx * (metric.applyAsDouble(sample) - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    /**
+     * Guarda las muestras en un archivo CSV.
+     * @param output El archivo a generar.
+     * @param samples Las muestras.
+     * @throws IOException si no se puede escribir el archivo.
+     */
+    public static void write(Path output, List<Sample> samples) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("iteration,jsHeapUsedSize,nodes,jsEventListeners,layoutCount,recalcStyleCount");
+        for (Sample sample : samples) {
+            lines.add(String.format(Locale.ROOT, "%d,%.0f,%.0f,%.0f,%.0f,%.0f", sample.iteration(),
+                    sample.jsHeapUsedSize(), sample.nodes(), sample.jsEventListeners(),
+                    sample.layoutCount(), sample.recalcStyleCount()));
+        }
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, lines);
+    }
+}
@@ -0,0 +1,21 @@
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Generador de identificadores únicos para los datos de registro.
+ * Combina el tiempo en segundos con un UUID truncado ({@code <epoch>_<uuid8>}), el mismo formato que reconocen
+ * los patrones de barrido de {@link AccountCleanup}.
+ */
+public final class UniqueIdentity {
+
+    private UniqueIdentity() {
+    }
+
+    /**
+     * Genera un identificador nuevo en cada llamada.
+     * @return Un identificador con el formato {@code <epoch>_<uuid8>}.
+     */
+    public static String next() {
+        return Instant.now().getEpochSecond() + "_" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}